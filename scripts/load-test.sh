@@ -0,0 +1,36 @@
+#!/usr/bin/env bash
+# Runs the same LoadTestClient workload against the default (platform thread) mode and the
+# vthreads profile, one after the other, on a freshly started instance each time.
+#   scripts/load-test.sh [clients] [slowClients] [seconds]
+set -euo pipefail
+
+CLIENTS=${1:-400}
+SLOW_CLIENTS=${2:-250}
+SECONDS_PER_RUN=${3:-60}
+PORT=${PORT:-18080}
+
+cd "$(dirname "$0")/.."
+./mvnw -q -Pbenchmark -DskipTests package test-compile
+./mvnw -q -Pbenchmark dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=target/loadtest.classpath
+CLASSPATH="target/test-classes:target/classes:$(cat target/loadtest.classpath)"
+JAR=$(ls target/triage-*.jar | grep -v original | head -n 1)
+
+run() {
+    local mode=$1
+    shift
+    echo "== ${mode} =="
+    java "$@" -jar "$JAR" --server.port="$PORT" --spring.jpa.show-sql=false \
+        --logging.level.org.hibernate.SQL=INFO --logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO \
+        > "target/loadtest-${mode}.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+    until curl -sf "http://localhost:${PORT}/actuator/health" > /dev/null; do sleep 1; done
+    java -cp "$CLASSPATH" com.incident.triage.benchmark.LoadTestClient \
+        "http://localhost:${PORT}" "$CLIENTS" "$SLOW_CLIENTS" "$SECONDS_PER_RUN"
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+run platform
+run vthreads -Dspring.profiles.active=vthreads
@@ -0,0 +1,46 @@
+#!/usr/bin/env bash
+# Compares startup of the current jar against the fast-startup build (AOT-processed context,
+# CDS archive, lazy request-path beans). Each is started several times and timed from launch
+# until /actuator/health answers.
+#   scripts/startup-benchmark.sh [runs]
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-18080}
+
+cd "$(dirname "$0")/.."
+ROOT=$(pwd)
+mkdir -p target/startup
+./mvnw -q -DskipTests package
+cp "$(ls target/triage-*.jar | grep -v original | head -n 1)" target/startup/baseline.jar
+./mvnw -q -Pfast-startup -DskipTests package
+FAST_JAR=$(cd target/application && ls triage-*.jar | head -n 1)
+
+measure() {
+    local mode=$1
+    local dir=$2
+    shift 2
+    local total=0
+    for i in $(seq "$RUNS"); do
+        local log="${ROOT}/target/startup/${mode}-${i}.log"
+        local start
+        start=$(date +%s%N)
+        (cd "$dir" && exec java "$@" --server.port="$PORT" --spring.jpa.show-sql=false) > "$log" 2>&1 &
+        local pid=$!
+        trap 'kill $pid 2>/dev/null || true' EXIT
+        until curl -sf "http://localhost:${PORT}/actuator/health" > /dev/null; do sleep 0.05; done
+        local elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+        total=$((total + elapsed))
+        echo "${mode} #${i}: ${elapsed} ms to healthy ($(grep -o 'Started IncidentTriageApplication in [0-9.]* seconds' "$log" || true))"
+        kill "$pid"
+        wait "$pid" 2>/dev/null || true
+        trap - EXIT
+    done
+    echo "== ${mode}: mean $((total / RUNS)) ms over ${RUNS} runs =="
+}
+
+measure baseline "${ROOT}/target/startup" -jar baseline.jar
+# CDS only accepts the archive with the classpath it was trained on, so run from the same directory
+measure fast-startup "${ROOT}/target/application" \
+    -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -jar "$FAST_JAR" \
+    --spring.profiles.active=fast-startup
@@ -0,0 +1,118 @@
+package com.incident.triage.benchmark;
+
+import com.incident.triage.dto.IncidentRequest;
+import com.incident.triage.model.Incident;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+// Deterministic incident generator: the same seed always yields the same dataset.
+// Standalone use writes one IncidentRequest JSON document per line:
+//   java -cp <test classpath> com.incident.triage.benchmark.DatasetGenerator <count> <file> [seed]
+public final class DatasetGenerator {
+
+    public static final long DEFAULT_SEED = 20240917L;
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    public enum TextShape { SHORT, LONG, UNICODE }
+
+    private static final String[] SUBJECTS = {
+            "Checkout service", "Payment gateway", "User database", "Edge router", "Search cluster",
+            "Batch scheduler", "Auth API", "Build server", "Message broker", "Reporting job"
+    };
+    private static final String[] SYMPTOMS = {
+            "is down", "reports an outage", "has critical failures", "is slow", "shows performance degradation",
+            "hits a timeout", "returns error responses", "lost network connectivity", "runs out of memory",
+            "has high cpu usage", "is filling the disk", "has a minor display glitch", "logs a warning"
+    };
+    private static final String[] FILLER = {
+            "after the latest deployment", "for a subset of tenants", "in the eu-west region", "since 02:00 UTC",
+            "according to synthetic checks", "while the nightly job was running", "with intermittent recovery",
+            "on all replicas", "behind the load balancer", "during peak traffic"
+    };
+    private static final String[] UNICODE_FILLER = {
+            "Zeitüberschreitung bei der Größenberechnung", "サービスが応答しません", "数据库连接失败",
+            "Ошибка сети на узле", "serveur surchargé ⚠️", "🔥 alert storm 🔥", "οι χρήστες αναφέρουν σφάλμα"
+    };
+    private static final String[] SERVICES = {
+            "checkout-service", "payment-gateway", "user-database", "edge-network", "search-cluster",
+            "batch-scheduler", "auth-api", "build-server", "message-broker", "frontend-ui"
+    };
+
+    private final SplittableRandom random;
+
+    public DatasetGenerator(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    public IncidentRequest nextRequest(TextShape shape) {
+        String subject = pick(SUBJECTS);
+        String symptom = pick(SYMPTOMS);
+        return new IncidentRequest(
+                subject + " " + symptom + " #" + random.nextInt(1_000_000),
+                description(shape, subject, symptom),
+                pick(SERVICES) + "-" + random.nextInt(50));
+    }
+
+    // Incident spread uniformly over the 90 days before BASE_TIME, not yet triaged
+    public Incident nextIncident(TextShape shape) {
+        IncidentRequest request = nextRequest(shape);
+        Incident incident = new Incident();
+        incident.setTitle(request.getTitle());
+        incident.setDescription(request.getDescription());
+        incident.setAffectedService(request.getAffectedService());
+        incident.setCreatedAt(BASE_TIME.minusSeconds(random.nextLong(90L * 24 * 3600)));
+        incident.setLastSeenAt(incident.getCreatedAt());
+        return incident;
+    }
+
+    private String description(TextShape shape, String subject, String symptom) {
+        StringBuilder text = new StringBuilder(subject).append(' ').append(symptom);
+        int sentences = switch (shape) {
+            case SHORT -> 1;
+            case LONG -> 12;
+            case UNICODE -> 4;
+        };
+        for (int i = 0; i < sentences; i++) {
+            text.append(", ").append(shape == TextShape.UNICODE ? pick(UNICODE_FILLER) : pick(FILLER));
+            if (shape == TextShape.LONG) {
+                text.append(" and ").append(pick(SUBJECTS).toLowerCase()).append(' ').append(pick(SYMPTOMS));
+            }
+        }
+        String description = text.append('.').toString();
+        return description.length() > 1000 ? description.substring(0, 1000) : description;
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: DatasetGenerator <count> <file> [seed]");
+            System.exit(1);
+        }
+        int count = Integer.parseInt(args[0]);
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+        DatasetGenerator generator = new DatasetGenerator(seed);
+        TextShape[] shapes = TextShape.values();
+
+        try (Writer out = Files.newBufferedWriter(Path.of(args[1]), StandardCharsets.UTF_8)) {
+            for (int i = 0; i < count; i++) {
+                IncidentRequest request = generator.nextRequest(shapes[i % shapes.length]);
+                out.write("{\"title\":" + quote(request.getTitle())
+                        + ",\"description\":" + quote(request.getDescription())
+                        + ",\"affectedService\":" + quote(request.getAffectedService()) + "}\n");
+            }
+        }
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
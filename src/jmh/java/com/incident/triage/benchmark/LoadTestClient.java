@@ -0,0 +1,142 @@
+package com.incident.triage.benchmark;
+
+import com.incident.triage.dto.IncidentRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Closed-loop HTTP load against a running instance, for comparing the default and vthreads modes.
+// Fast clients mix creates and reads; slow clients hold a request open by draining the export
+// stream a few bytes at a time, which is what exhausts a fixed request thread pool.
+//   java -cp <test classpath> com.incident.triage.benchmark.LoadTestClient \
+//       <baseUrl> <clients> <slowClients> <seconds> [writePercent]
+public final class LoadTestClient {
+
+    private static final int MAX_LATENCY_MICROS = 60_000_000;
+    private static final int SLOW_READ_BYTES = 256;
+    private static final Duration SLOW_READ_PAUSE = Duration.ofMillis(500);
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final int writePercent;
+    private final AtomicLong ok = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private LoadTestClient(String baseUrl, int writePercent) {
+        this.baseUrl = baseUrl;
+        this.writePercent = writePercent;
+        this.http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length < 4) {
+            System.err.println("Usage: LoadTestClient <baseUrl> <clients> <slowClients> <seconds> [writePercent]");
+            System.exit(1);
+        }
+        String baseUrl = args[0];
+        int clients = Integer.parseInt(args[1]);
+        int slowClients = Integer.parseInt(args[2]);
+        long seconds = Long.parseLong(args[3]);
+        int writePercent = args.length > 4 ? Integer.parseInt(args[4]) : 20;
+
+        LoadTestClient client = new LoadTestClient(baseUrl, writePercent);
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        long[][] latencies = new long[clients][];
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < slowClients; i++) {
+                executor.submit(() -> client.slowLoop(deadline));
+            }
+            // Let the slow clients occupy the server before measuring
+            Thread.sleep(Math.min(2_000L, seconds * 100L));
+            for (int i = 0; i < clients; i++) {
+                int index = i;
+                executor.submit(() -> latencies[index] = client.fastLoop(deadline, DatasetGenerator.DEFAULT_SEED + index));
+            }
+        }
+
+        long[] all = Arrays.stream(latencies).filter(l -> l != null).flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("requests=%d failed=%d throughput=%.1f/s%n",
+                client.ok.get(), client.failed.get(), client.ok.get() / (double) seconds);
+        if (all.length > 0) {
+            System.out.printf("latency p50=%.1fms p95=%.1fms p99=%.1fms max=%.1fms%n",
+                    percentile(all, 0.50), percentile(all, 0.95), percentile(all, 0.99), all[all.length - 1] / 1000.0);
+        }
+    }
+
+    private long[] fastLoop(long deadline, long seed) {
+        DatasetGenerator generator = new DatasetGenerator(seed);
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] samples = new long[1024];
+        int count = 0;
+        while (System.nanoTime() < deadline) {
+            HttpRequest request = random.nextInt(100) < writePercent
+                    ? create(generator.nextRequest(DatasetGenerator.TextShape.SHORT))
+                    : HttpRequest.newBuilder(URI.create(baseUrl + "/api/incidents/severity/HIGH"))
+                    .timeout(Duration.ofSeconds(60)).GET().build();
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                (response.statusCode() < 400 ? ok : failed).incrementAndGet();
+            } catch (IOException e) {
+                failed.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (count == samples.length) {
+                samples = Arrays.copyOf(samples, count * 2);
+            }
+            samples[count++] = Math.min((System.nanoTime() - start) / 1000, MAX_LATENCY_MICROS);
+        }
+        return Arrays.copyOf(samples, count);
+    }
+
+    private void slowLoop(long deadline) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/incidents/export?format=ndjson")).GET().build();
+        while (System.nanoTime() < deadline) {
+            try (InputStream body = http.send(request, HttpResponse.BodyHandlers.ofInputStream()).body()) {
+                while (System.nanoTime() < deadline && body.readNBytes(SLOW_READ_BYTES).length > 0) {
+                    Thread.sleep(SLOW_READ_PAUSE);
+                }
+            } catch (IOException e) {
+                failed.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private HttpRequest create(IncidentRequest incident) {
+        String json = "{\"title\":" + quote(incident.getTitle())
+                + ",\"description\":" + quote(incident.getDescription())
+                + ",\"affectedService\":" + quote(incident.getAffectedService()) + "}";
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/incidents"))
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static double percentile(long[] sortedMicros, double p) {
+        return sortedMicros[(int) Math.min(sortedMicros.length - 1, Math.floor(p * sortedMicros.length))] / 1000.0;
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
@@ -0,0 +1,121 @@
+package com.incident.triage.benchmark;
+
+import com.incident.triage.IncidentTriageApplication;
+import com.incident.triage.dto.IncidentPage;
+import com.incident.triage.model.Incident;
+import com.incident.triage.model.Severity;
+import com.incident.triage.repository.IncidentRepository;
+import com.incident.triage.repository.IncidentSummary;
+import com.incident.triage.repository.IncidentView;
+import com.incident.triage.service.AITriageService;
+import com.incident.triage.service.IncidentService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Query paths against an H2 database seeded with a reproducible dataset
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class RepositoryBenchmark {
+
+    private static final int SEED_CHUNK = 10_000;
+    private static final int SAMPLED_IDS = 4096;
+
+    @Param({"100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private IncidentRepository incidentRepository;
+    private IncidentService incidentService;
+    // Snowflake ids are sparse, so lookups draw from ids that were actually stored
+    private final long[] sampledIds = new long[SAMPLED_IDS];
+    private final SplittableRandom random = new SplittableRandom(DatasetGenerator.DEFAULT_SEED);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(IncidentTriageApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.incident.triage=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        incidentRepository = context.getBean(IncidentRepository.class);
+        incidentService = context.getBean(IncidentService.class);
+        AITriageService triageService = context.getBean(AITriageService.class);
+
+        DatasetGenerator generator = new DatasetGenerator(DatasetGenerator.DEFAULT_SEED);
+        DatasetGenerator.TextShape[] shapes = DatasetGenerator.TextShape.values();
+        List<Incident> chunk = new ArrayList<>(SEED_CHUNK);
+        int seen = 0;
+        for (int i = 0; i < rows; i++) {
+            chunk.add(triageService.processIncidentWithAI(generator.nextIncident(shapes[i % shapes.length])));
+            if (chunk.size() == SEED_CHUNK || i == rows - 1) {
+                for (Incident saved : incidentRepository.saveAll(chunk)) {
+                    sample(saved.getId(), seen++);
+                }
+                chunk.clear();
+            }
+        }
+    }
+
+    // Reservoir sampling keeps a uniform sample of all seeded ids
+    private void sample(long id, int index) {
+        if (index < SAMPLED_IDS) {
+            sampledIds[index] = id;
+        } else {
+            int slot = random.nextInt(index + 1);
+            if (slot < SAMPLED_IDS) {
+                sampledIds[slot] = id;
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Incident> findById() {
+        return incidentRepository.findById(sampledIds[random.nextInt(Math.min(rows, SAMPLED_IDS))]);
+    }
+
+    @Benchmark
+    public int listBySeverity() {
+        return incidentRepository.findByAiSeverityOrderByCreatedAtDesc(Severity.HIGH, IncidentView.class).size();
+    }
+
+    @Benchmark
+    public int listSummariesBySeverity() {
+        return incidentRepository.findByAiSeverityOrderByCreatedAtDesc(Severity.HIGH, IncidentSummary.class).size();
+    }
+
+    @Benchmark
+    public IncidentPage searchFirstPageBySeverity() {
+        return incidentService.searchIncidents(Severity.HIGH, null, null, null, 50);
+    }
+
+    @Benchmark
+    public IncidentPage searchByServiceFragment() {
+        return incidentService.searchIncidents(null, null, "payment", null, 50);
+    }
+
+    @Benchmark
+    public List<Object[]> countBySeverity() {
+        return incidentRepository.countBySeverityAfter(0L);
+    }
+}
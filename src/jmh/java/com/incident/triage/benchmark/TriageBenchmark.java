@@ -0,0 +1,53 @@
+package com.incident.triage.benchmark;
+
+import com.incident.triage.engine.RuleBasedTriageEngine;
+import com.incident.triage.model.Incident;
+import com.incident.triage.service.AITriageService;
+import com.incident.triage.service.IncidentMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TriageBenchmark {
+
+    private static final int DATASET_SIZE = 4096;
+
+    @Param({"SHORT", "LONG", "UNICODE"})
+    public DatasetGenerator.TextShape shape;
+
+    @Param({"false", "true"})
+    public boolean cached;
+
+    private AITriageService triageService;
+    private Incident[] incidents;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        triageService = new AITriageService(List.of(new RuleBasedTriageEngine()),
+                new IncidentMetrics(registry, RuleBasedTriageEngine.NAME), registry,
+                RuleBasedTriageEngine.NAME, cached, 100_000);
+        DatasetGenerator generator = new DatasetGenerator(DatasetGenerator.DEFAULT_SEED);
+        incidents = new Incident[DATASET_SIZE];
+        for (int i = 0; i < DATASET_SIZE; i++) {
+            incidents[i] = generator.nextIncident(shape);
+        }
+    }
+
+    @Benchmark
+    public Incident processIncidentWithAI() {
+        Incident incident = incidents[next];
+        next = (next + 1) & (DATASET_SIZE - 1);
+        return triageService.processIncidentWithAI(incident);
+    }
+}
@@ -0,0 +1,71 @@
+package com.incident.triage.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.incident.triage.benchmark.DatasetGenerator;
+import com.incident.triage.dto.IncidentResponse;
+import com.incident.triage.engine.RuleBasedTriageEngine;
+import com.incident.triage.model.Incident;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Lives in the service package to reach IncidentService.convertToResponse
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConversionBenchmark {
+
+    @Param({"100", "10000"})
+    public int listSize;
+
+    private List<Incident> incidents;
+    private List<IncidentResponse> responses;
+    private ObjectWriter listWriter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        AITriageService triageService = new AITriageService(List.of(new RuleBasedTriageEngine()),
+                new IncidentMetrics(registry, RuleBasedTriageEngine.NAME), registry,
+                RuleBasedTriageEngine.NAME, false, 0);
+        DatasetGenerator generator = new DatasetGenerator(DatasetGenerator.DEFAULT_SEED);
+        DatasetGenerator.TextShape[] shapes = DatasetGenerator.TextShape.values();
+
+        incidents = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            Incident incident = triageService.processIncidentWithAI(generator.nextIncident(shapes[i % shapes.length]));
+            incident.setId((long) i + 1);
+            incidents.add(incident);
+        }
+        responses = incidents.stream().map(IncidentService::convertToResponse).toList();
+
+        // Same settings as spring.jackson.* in application.properties
+        ObjectMapper objectMapper = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        listWriter = objectMapper.writerFor(new TypeReference<List<IncidentResponse>>() { });
+    }
+
+    @Benchmark
+    public List<IncidentResponse> convertToResponse() {
+        return incidents.stream().map(IncidentService::convertToResponse).toList();
+    }
+
+    @Benchmark
+    public byte[] serializeResponseList() throws Exception {
+        return listWriter.writeValueAsBytes(responses);
+    }
+}
@@ -0,0 +1,377 @@
+package com.incident.triage.archive;
+
+import com.incident.triage.model.Category;
+import com.incident.triage.model.Incident;
+import com.incident.triage.model.Severity;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+// One month of archived incidents, column-oriented in deflated blocks:
+//   header  MAGIC, VERSION, year, month
+//   blocks  rows, minCreatedSecond, maxCreatedSecond, compressedLength, deflate(columns)
+//   footer  blocks, rows, per-severity counts, per-category counts, footerLength, MAGIC
+// Block time bounds let range reads skip blocks without inflating them, and the footer
+// answers counts without reading any rows. Version 2 drops the suggested-action column, now
+// derived from severity, and adds outageId, acknowledgedAt and escalatedAt; version 1 files
+// are still read, with those three left null.
+final class ArchiveFile {
+
+    private static final int MAGIC = 0x49544341; // "ITCA"
+    private static final int VERSION = 2;
+    private static final int VERSION_1 = 1;
+    private static final int BLOCK_ROWS = 4096;
+    private static final int HEADER_BYTES = 16;
+    private static final long NULL_TIME = Long.MIN_VALUE;
+    // Snowflake ids are positive
+    private static final long NULL_ID = 0L;
+
+    private ArchiveFile() {
+    }
+
+    record Summary(YearMonth month, long rows, long[] bySeverityCode, long[] byCategoryCode) {
+    }
+
+    // Writes to a temporary sibling and moves it over the target on finish
+    static final class Writer implements Closeable {
+        private final Path target;
+        private final Path temp;
+        private final DataOutputStream out;
+        private final List<Incident> block = new ArrayList<>(BLOCK_ROWS);
+        private final long[] bySeverityCode = new long[Severity.values().length];
+        private final long[] byCategoryCode = new long[Category.values().length];
+        private int blocks;
+        private long rows;
+        private boolean finished;
+
+        Writer(Path target, YearMonth month) throws IOException {
+            this.target = target;
+            this.temp = target.resolveSibling(target.getFileName() + ".tmp");
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(month.getYear());
+            out.writeInt(month.getMonthValue());
+        }
+
+        void add(Incident incident) throws IOException {
+            block.add(incident);
+            rows++;
+            if (incident.getAiSeverity() != null) {
+                bySeverityCode[incident.getAiSeverity().getCode()]++;
+            }
+            if (incident.getAiCategory() != null) {
+                byCategoryCode[incident.getAiCategory().getCode()]++;
+            }
+            if (block.size() == BLOCK_ROWS) {
+                flushBlock();
+            }
+        }
+
+        long rows() {
+            return rows;
+        }
+
+        void finish() throws IOException {
+            flushBlock();
+            ByteArrayOutputStream footerBytes = new ByteArrayOutputStream();
+            DataOutputStream footer = new DataOutputStream(footerBytes);
+            footer.writeInt(blocks);
+            footer.writeLong(rows);
+            writeCounts(footer, bySeverityCode);
+            writeCounts(footer, byCategoryCode);
+            footer.flush();
+            out.write(footerBytes.toByteArray());
+            out.writeInt(footerBytes.size());
+            out.writeInt(MAGIC);
+            out.close();
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            finished = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!finished) {
+                out.close();
+                Files.deleteIfExists(temp);
+            }
+        }
+
+        private void flushBlock() throws IOException {
+            if (block.isEmpty()) {
+                return;
+            }
+            long minSecond = Long.MAX_VALUE;
+            long maxSecond = Long.MIN_VALUE;
+            for (Incident incident : block) {
+                long second = incident.getCreatedAt().toEpochSecond(ZoneOffset.UTC);
+                minSecond = Math.min(minSecond, second);
+                maxSecond = Math.max(maxSecond, second);
+            }
+
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            try (DataOutputStream columns = new DataOutputStream(new DeflaterOutputStream(compressed, deflater))) {
+                // Ids and creation times are near-sorted, so deltas deflate well
+                long previousId = 0L;
+                for (Incident incident : block) {
+                    columns.writeLong(incident.getId() - previousId);
+                    previousId = incident.getId();
+                }
+                long previousSecond = 0L;
+                for (Incident incident : block) {
+                    long second = incident.getCreatedAt().toEpochSecond(ZoneOffset.UTC);
+                    columns.writeLong(second - previousSecond);
+                    previousSecond = second;
+                }
+                for (Incident incident : block) {
+                    columns.writeInt(incident.getCreatedAt().getNano());
+                }
+                for (Incident incident : block) {
+                    writeTime(columns, incident.getLastSeenAt());
+                }
+                for (Incident incident : block) {
+                    columns.writeByte(incident.getAiSeverity() == null ? -1 : incident.getAiSeverity().getCode());
+                }
+                for (Incident incident : block) {
+                    columns.writeByte(incident.getAiCategory() == null ? -1 : incident.getAiCategory().getCode());
+                }
+                for (Incident incident : block) {
+                    columns.writeInt(incident.getOccurrenceCount());
+                }
+                for (Incident incident : block) {
+                    writeString(columns, incident.getAffectedService());
+                }
+                for (Incident incident : block) {
+                    writeString(columns, incident.getTitle());
+                }
+                for (Incident incident : block) {
+                    writeString(columns, incident.getDescription());
+                }
+                for (Incident incident : block) {
+                    columns.writeLong(incident.getOutageId() == null ? NULL_ID : incident.getOutageId());
+                }
+                for (Incident incident : block) {
+                    writeTime(columns, incident.getAcknowledgedAt());
+                }
+                for (Incident incident : block) {
+                    writeTime(columns, incident.getEscalatedAt());
+                }
+            } finally {
+                deflater.end();
+            }
+
+            out.writeInt(block.size());
+            out.writeLong(minSecond);
+            out.writeLong(maxSecond);
+            out.writeInt(compressed.size());
+            compressed.writeTo(out);
+            blocks++;
+            block.clear();
+        }
+    }
+
+    // Calls action for every incident created within [start, end]; null bounds are open
+    static void read(Path path, LocalDateTime start, LocalDateTime end, Consumer<Incident> action) throws IOException {
+        long startSecond = start == null ? Long.MIN_VALUE : start.toEpochSecond(ZoneOffset.UTC);
+        long endSecond = end == null ? Long.MAX_VALUE : end.toEpochSecond(ZoneOffset.UTC);
+        int blocks = readFooter(path).blocks();
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            int version = readHeader(in, path);
+            for (int b = 0; b < blocks; b++) {
+                int rows = in.readInt();
+                long minSecond = in.readLong();
+                long maxSecond = in.readLong();
+                int length = in.readInt();
+                if (maxSecond < startSecond || minSecond > endSecond) {
+                    in.skipNBytes(length);
+                    continue;
+                }
+                byte[] compressed = in.readNBytes(length);
+                for (Incident incident : readBlock(compressed, rows, version)) {
+                    LocalDateTime createdAt = incident.getCreatedAt();
+                    if ((start == null || !createdAt.isBefore(start)) && (end == null || !createdAt.isAfter(end))) {
+                        action.accept(incident);
+                    }
+                }
+            }
+        }
+    }
+
+    static Summary summary(Path path) throws IOException {
+        Footer footer = readFooter(path);
+        return new Summary(footer.month(), footer.rows(), footer.bySeverityCode(), footer.byCategoryCode());
+    }
+
+    private record Footer(YearMonth month, int blocks, long rows, long[] bySeverityCode, long[] byCategoryCode) {
+    }
+
+    private static Footer readFooter(Path path) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "r")) {
+            long length = file.length();
+            if (length < HEADER_BYTES + 8) {
+                throw new IOException("Truncated incident archive " + path);
+            }
+            if (file.readInt() != MAGIC || !isKnownVersion(file.readInt())) {
+                throw new IOException("Not an incident archive: " + path);
+            }
+            YearMonth month = YearMonth.of(file.readInt(), file.readInt());
+
+            file.seek(length - 8);
+            int footerLength = file.readInt();
+            if (file.readInt() != MAGIC) {
+                throw new IOException("Incident archive has no footer: " + path);
+            }
+            file.seek(length - 8 - footerLength);
+            int blocks = file.readInt();
+            long rows = file.readLong();
+            return new Footer(month, blocks, rows, readCounts(file), readCounts(file));
+        }
+    }
+
+    private static int readHeader(DataInputStream in, Path path) throws IOException {
+        int version = in.readInt() == MAGIC ? in.readInt() : -1;
+        if (!isKnownVersion(version)) {
+            throw new IOException("Not an incident archive: " + path);
+        }
+        in.readInt();
+        in.readInt();
+        return version;
+    }
+
+    private static boolean isKnownVersion(int version) {
+        return version == VERSION || version == VERSION_1;
+    }
+
+    private static List<Incident> readBlock(byte[] compressed, int rows, int version) throws IOException {
+        List<Incident> incidents = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            incidents.add(new Incident());
+        }
+        try (DataInputStream columns = new DataInputStream(
+                new InflaterInputStream(new ByteArrayInputStream(compressed)))) {
+            long id = 0L;
+            for (Incident incident : incidents) {
+                id += columns.readLong();
+                incident.setId(id);
+            }
+            long[] seconds = new long[rows];
+            long second = 0L;
+            for (int i = 0; i < rows; i++) {
+                second += columns.readLong();
+                seconds[i] = second;
+            }
+            for (int i = 0; i < rows; i++) {
+                incidents.get(i).setCreatedAt(LocalDateTime.ofEpochSecond(seconds[i], columns.readInt(), ZoneOffset.UTC));
+            }
+            for (Incident incident : incidents) {
+                incident.setLastSeenAt(readTime(columns));
+            }
+            for (Incident incident : incidents) {
+                byte code = columns.readByte();
+                incident.setAiSeverity(code < 0 ? null : Severity.fromCode(code));
+            }
+            for (Incident incident : incidents) {
+                byte code = columns.readByte();
+                incident.setAiCategory(code < 0 ? null : Category.fromCode(code));
+            }
+            for (Incident incident : incidents) {
+                incident.setOccurrenceCount(columns.readInt());
+            }
+            for (Incident incident : incidents) {
+                incident.setAffectedService(readString(columns));
+            }
+            for (Incident incident : incidents) {
+                incident.setTitle(readString(columns));
+            }
+            if (version == VERSION_1) {
+                // Suggested-action column; the action is now derived from severity
+                for (int i = 0; i < rows; i++) {
+                    readString(columns);
+                }
+            }
+            for (Incident incident : incidents) {
+                incident.setDescription(readString(columns));
+            }
+            if (version == VERSION_1) {
+                return incidents;
+            }
+            for (Incident incident : incidents) {
+                long outageId = columns.readLong();
+                incident.setOutageId(outageId == NULL_ID ? null : outageId);
+            }
+            for (Incident incident : incidents) {
+                incident.setAcknowledgedAt(readTime(columns));
+            }
+            for (Incident incident : incidents) {
+                incident.setEscalatedAt(readTime(columns));
+            }
+        }
+        return incidents;
+    }
+
+    private static void writeTime(DataOutputStream out, LocalDateTime time) throws IOException {
+        if (time == null) {
+            out.writeLong(NULL_TIME);
+            return;
+        }
+        out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(time.getNano());
+    }
+
+    private static LocalDateTime readTime(DataInputStream in) throws IOException {
+        long second = in.readLong();
+        return second == NULL_TIME ? null : LocalDateTime.ofEpochSecond(second, in.readInt(), ZoneOffset.UTC);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        return length < 0 ? null : new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+
+    private static void writeCounts(DataOutputStream out, long[] counts) throws IOException {
+        out.writeInt(counts.length);
+        for (long count : counts) {
+            out.writeLong(count);
+        }
+    }
+
+    private static long[] readCounts(RandomAccessFile file) throws IOException {
+        long[] counts = new long[file.readInt()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = file.readLong();
+        }
+        return counts;
+    }
+}
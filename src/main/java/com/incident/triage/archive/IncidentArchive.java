@@ -0,0 +1,163 @@
+package com.incident.triage.archive;
+
+import com.incident.triage.model.Category;
+import com.incident.triage.model.Incident;
+import com.incident.triage.model.Severity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// Cold storage: one compressed columnar file per calendar month of incidents
+@Component
+public class IncidentArchive {
+
+    private static final Pattern FILE_NAME = Pattern.compile("incidents-(\\d{4})-(\\d{2})\\.itca");
+
+    // Row counts across all archived months, for statistics that must include cold rows
+    public record Totals(long rows, Map<Severity, Long> bySeverity, Map<Category, Long> byCategory) {
+    }
+
+    private final Path directory;
+    // Readers hold the read lock so a month file is never swapped out mid-read
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public IncidentArchive(@Value("${incident.archive.dir:archive}") Path directory) {
+        this.directory = directory;
+    }
+
+    public List<YearMonth> months() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        List<YearMonth> months = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    months.add(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        months.sort(null);
+        return months;
+    }
+
+    // Archived incidents created within [start, end], oldest month first; null bounds are open
+    public void forEach(LocalDateTime start, LocalDateTime end, Consumer<Incident> action) {
+        YearMonth first = start == null ? null : YearMonth.from(start);
+        YearMonth last = end == null ? null : YearMonth.from(end);
+        lock.readLock().lock();
+        try {
+            for (YearMonth month : months()) {
+                if ((first == null || !month.isBefore(first)) && (last == null || !month.isAfter(last))) {
+                    ArchiveFile.read(pathOf(month), start, end, action);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Totals totals() {
+        long rows = 0L;
+        Map<Severity, Long> bySeverity = new EnumMap<>(Severity.class);
+        Map<Category, Long> byCategory = new EnumMap<>(Category.class);
+        lock.readLock().lock();
+        try {
+            for (YearMonth month : months()) {
+                ArchiveFile.Summary summary = ArchiveFile.summary(pathOf(month));
+                rows += summary.rows();
+                for (int code = 0; code < summary.bySeverityCode().length; code++) {
+                    bySeverity.merge(Severity.fromCode((short) code), summary.bySeverityCode()[code], Long::sum);
+                }
+                for (int code = 0; code < summary.byCategoryCode().length; code++) {
+                    byCategory.merge(Category.fromCode((short) code), summary.byCategoryCode()[code], Long::sum);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new Totals(rows, bySeverity, byCategory);
+    }
+
+    // Ids in one month's file, for telling rows left behind by a failed delete from hot rows
+    public Set<Long> ids(YearMonth month) {
+        Set<Long> ids = new HashSet<>();
+        lock.readLock().lock();
+        try {
+            Path path = pathOf(month);
+            if (Files.exists(path)) {
+                ArchiveFile.read(path, null, null, incident -> ids.add(incident.getId()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return ids;
+    }
+
+    // Appends incidents to the month's file, rewriting it with any rows archived earlier.
+    // Ids already in the file are skipped, so re-archiving after a failed delete is harmless.
+    public long archive(YearMonth month, Stream<Incident> incidents) throws IOException {
+        Files.createDirectories(directory);
+        Path path = pathOf(month);
+        try (ArchiveFile.Writer writer = new ArchiveFile.Writer(path, month)) {
+            Set<Long> archivedIds = new HashSet<>();
+            if (Files.exists(path)) {
+                ArchiveFile.read(path, null, null, incident -> {
+                    archivedIds.add(incident.getId());
+                    addUnchecked(writer, incident);
+                });
+            }
+            incidents.filter(incident -> !archivedIds.contains(incident.getId()))
+                    .forEach(incident -> addUnchecked(writer, incident));
+
+            lock.writeLock().lock();
+            try {
+                writer.finish();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return writer.rows();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Path pathOf(YearMonth month) {
+        return directory.resolve(String.format("incidents-%04d-%02d.itca", month.getYear(), month.getMonthValue()));
+    }
+
+    private static void addUnchecked(ArchiveFile.Writer writer, Incident incident) {
+        try {
+            writer.add(incident);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
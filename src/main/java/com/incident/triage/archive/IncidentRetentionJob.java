@@ -0,0 +1,98 @@
+package com.incident.triage.archive;
+
+import com.incident.triage.model.Incident;
+import com.incident.triage.repository.IncidentRepository;
+import com.incident.triage.search.IncidentSearchIndex;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Moves whole months older than the hot window from the incidents table into the archive
+@Component
+@ConditionalOnProperty(name = "incident.retention.enabled", havingValue = "true")
+public class IncidentRetentionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(IncidentRetentionJob.class);
+
+    private final IncidentRepository incidentRepository;
+    private final IncidentArchive archive;
+    private final IncidentSearchIndex searchIndex;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int hotMonths;
+
+    public IncidentRetentionJob(IncidentRepository incidentRepository,
+                                IncidentArchive archive,
+                                IncidentSearchIndex searchIndex,
+                                EntityManager entityManager,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${incident.retention.hot-months:3}") int hotMonths) {
+        if (hotMonths < 1) {
+            throw new IllegalArgumentException("incident.retention.hot-months must be at least 1");
+        }
+        this.incidentRepository = incidentRepository;
+        this.archive = archive;
+        this.searchIndex = searchIndex;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.hotMonths = hotMonths;
+    }
+
+    @Scheduled(cron = "${incident.retention.cron:0 15 3 * * *}")
+    public void archiveExpiredMonths() {
+        // The current month counts as the first hot month
+        YearMonth firstHotMonth = YearMonth.now().minusMonths(hotMonths - 1L);
+        Optional<LocalDateTime> oldest = incidentRepository.findOldestCreatedAt();
+        if (oldest.isEmpty()) {
+            return;
+        }
+        for (YearMonth month = YearMonth.from(oldest.get()); month.isBefore(firstHotMonth); month = month.plusMonths(1)) {
+            archiveMonth(month);
+        }
+    }
+
+    void archiveMonth(YearMonth month) {
+        LocalDateTime start = month.atDay(1).atStartOfDay();
+        LocalDateTime end = month.plusMonths(1).atDay(1).atStartOfDay();
+        List<Long> archivedIds = new ArrayList<>();
+
+        // The file is in place before the rows are deleted; if the delete fails the rows stay hot
+        // and are skipped by id on the next run. The stream locks each row, so nothing archived
+        // can change before the delete
+        Integer deleted = transactionTemplate.execute(status -> {
+            try (Stream<Incident> incidents = incidentRepository.streamCreatedInRange(start, end)) {
+                archive.archive(month, incidents.peek(incident -> {
+                    archivedIds.add(incident.getId());
+                    entityManager.detach(incident);
+                }));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return incidentRepository.deleteCreatedInRange(start, end);
+        });
+
+        try {
+            searchIndex.remove(archivedIds);
+        } catch (IOException e) {
+            log.warn("Failed to drop {} archived incidents from the search index", archivedIds.size(), e);
+        }
+        if (deleted != null && deleted > 0) {
+            log.info("Archived {} incidents from {}", deleted, month);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.incident.triage.cluster;
+
+import com.incident.triage.event.IncidentCreatedEvent;
+import com.incident.triage.model.Incident;
+import com.incident.triage.model.IncidentChange;
+import com.incident.triage.repository.IncidentChangeRepository;
+import com.incident.triage.repository.IncidentRepository;
+import com.incident.triage.service.IncidentListCacheInvalidator;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Keeps this node's derived state in step with the other nodes by reading IncidentChangeLog
+// rows in seq order, from the last seq seen. Seq follows commit order, so a long transaction,
+// such as a large batch insert, is picked up whenever it commits:
+//   - incidents created by another node are republished locally as remote IncidentCreatedEvents,
+//     which update counters, trends, the search index, list caches and stream subscribers
+//   - other nodes' folds, acknowledgements and escalations are evicted from the second-level
+//     cache and from the severity/category list caches
+@Component
+@ConditionalOnProperty(name = "incident.cluster.enabled", havingValue = "true")
+public class ClusterChangeFeed {
+
+    private final IncidentChangeRepository changeRepository;
+    private final IncidentRepository incidentRepository;
+    private final IncidentListCacheInvalidator listCacheInvalidator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Cache secondLevelCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int nodeId;
+    private final int batchSize;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long lastSeq;
+
+    public ClusterChangeFeed(IncidentChangeRepository changeRepository,
+                             IncidentRepository incidentRepository,
+                             IncidentChangeLog changeLog,
+                             IncidentListCacheInvalidator listCacheInvalidator,
+                             ApplicationEventPublisher eventPublisher,
+                             EntityManagerFactory entityManagerFactory,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${incident.cluster.node-id:0}") int nodeId,
+                             @Value("${incident.cluster.poll-batch-size:1000}") int batchSize) {
+        this.changeRepository = changeRepository;
+        this.incidentRepository = incidentRepository;
+        this.listCacheInvalidator = listCacheInvalidator;
+        this.eventPublisher = eventPublisher;
+        this.secondLevelCache = entityManagerFactory.getCache();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.nodeId = nodeId;
+        this.batchSize = batchSize;
+        // Anything older was already in the database when local state was built at startup
+        this.lastSeq = changeLog.lastSequence();
+    }
+
+    @Scheduled(fixedDelayString = "${incident.cluster.poll-interval-ms:1000}",
+            initialDelayString = "${incident.cluster.poll-interval-ms:1000}")
+    public void poll() {
+        lock.lock();
+        try {
+            List<IncidentChange> changes;
+            do {
+                long from = lastSeq;
+                changes = transactionTemplate.execute(status ->
+                        changeRepository.findBySeqGreaterThanOrderBySeq(from, Limit.of(batchSize)));
+                apply(changes);
+                if (!changes.isEmpty()) {
+                    lastSeq = changes.get(changes.size() - 1).getSeq();
+                }
+            } while (changes.size() == batchSize);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void apply(List<IncidentChange> changes) {
+        List<Long> remoteIds = changes.stream()
+                .filter(change -> change.getNodeId() != nodeId)
+                .map(IncidentChange::getIncidentId)
+                .distinct()
+                .toList();
+        if (remoteIds.isEmpty()) {
+            return;
+        }
+        for (IncidentChange change : changes) {
+            if (change.getNodeId() != nodeId && !change.isCreated()) {
+                secondLevelCache.evict(Incident.class, change.getIncidentId());
+            }
+        }
+
+        Map<Long, Incident> incidents = new HashMap<>();
+        transactionTemplate.executeWithoutResult(status ->
+                incidentRepository.findAllById(remoteIds).forEach(incident -> incidents.put(incident.getId(), incident)));
+        for (IncidentChange change : changes) {
+            Incident incident = incidents.get(change.getIncidentId());
+            // Local changes already went through this node's listeners; archived rows are gone
+            if (change.getNodeId() == nodeId || incident == null) {
+                continue;
+            }
+            if (change.isCreated()) {
+                eventPublisher.publishEvent(new IncidentCreatedEvent(incident, true));
+            } else {
+                listCacheInvalidator.evict(incident);
+            }
+        }
+    }
+}
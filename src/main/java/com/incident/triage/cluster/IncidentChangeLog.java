@@ -0,0 +1,145 @@
+package com.incident.triage.cluster;
+
+import com.incident.triage.event.IncidentAcknowledgedEvent;
+import com.incident.triage.event.IncidentCreatedEvent;
+import com.incident.triage.event.IncidentEscalatedEvent;
+import com.incident.triage.event.IncidentFoldedEvent;
+import com.incident.triage.model.IncidentChange;
+import com.incident.triage.model.IncidentChangeSequence;
+import com.incident.triage.repository.IncidentChangeRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Writes an IncidentChange row for every local create, fold, acknowledgement and escalation,
+// in the same transaction as the write itself. Sequence numbers are taken in beforeCommit, after
+// the incident rows are flushed, by bumping one shared counter row: its lock is held until
+// commit, so a transaction that numbers its changes after another one also commits after it,
+// and a reader that has seen seq n has seen every change up to n.
+@Component
+@ConditionalOnProperty(name = "incident.cluster.enabled", havingValue = "true")
+public class IncidentChangeLog {
+
+    private final IncidentChangeRepository changeRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int nodeId;
+    private final Duration retention;
+
+    public IncidentChangeLog(IncidentChangeRepository changeRepository,
+                             EntityManager entityManager,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${incident.cluster.node-id:0}") int nodeId,
+                             @Value("${incident.cluster.change-retention:1h}") Duration retention) {
+        this.changeRepository = changeRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.nodeId = nodeId;
+        this.retention = retention;
+    }
+
+    @PostConstruct
+    void createSequence() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!changeRepository.existsSequence()) {
+                    entityManager.persist(new IncidentChangeSequence());
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another node created it first
+        }
+    }
+
+    @EventListener
+    public void onIncidentCreated(IncidentCreatedEvent event) {
+        // Replayed remote incidents are already in the log of the node that created them
+        if (!event.remote()) {
+            record(event.incident().getId(), true);
+        }
+    }
+
+    @EventListener
+    public void onIncidentFolded(IncidentFoldedEvent event) {
+        record(event.incident().getId(), false);
+    }
+
+    @EventListener
+    public void onIncidentAcknowledged(IncidentAcknowledgedEvent event) {
+        record(event.incident().getId(), false);
+    }
+
+    @EventListener
+    public void onIncidentEscalated(IncidentEscalatedEvent event) {
+        record(event.incident().getId(), false);
+    }
+
+    // Last seq committed so far; a node that starts reading here sees every later change
+    public long lastSequence() {
+        Long last = transactionTemplate.execute(status -> changeRepository.findLastSequence());
+        return last == null ? 0L : last;
+    }
+
+    @Scheduled(fixedDelayString = "${incident.cluster.change-prune-interval-ms:60000}")
+    public void prune() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        transactionTemplate.executeWithoutResult(status -> changeRepository.deleteChangedBefore(cutoff));
+    }
+
+    private void record(Long incidentId, boolean created) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionTemplate.executeWithoutResult(status -> write(List.of(new Pending(incidentId, created))));
+            return;
+        }
+        pendingChanges().add(new Pending(incidentId, created));
+    }
+
+    private List<Pending> pendingChanges() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingChanges pending) {
+                return pending.changes;
+            }
+        }
+        PendingChanges pending = new PendingChanges();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending.changes;
+    }
+
+    private void write(List<Pending> changes) {
+        // Flush first so the counter lock is not held while the incident rows are written
+        entityManager.flush();
+        changeRepository.advanceSequence(changes.size());
+        long seq = changeRepository.findLastSequence() - changes.size();
+        LocalDateTime now = LocalDateTime.now();
+        for (Pending change : changes) {
+            entityManager.persist(new IncidentChange(++seq, change.incidentId(), nodeId, change.created(), now));
+        }
+    }
+
+    private record Pending(Long incidentId, boolean created) {
+    }
+
+    private class PendingChanges implements TransactionSynchronization {
+
+        private final List<Pending> changes = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            write(changes);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.incident.triage.cluster;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Time-ordered 63-bit ids: milliseconds since EPOCH, node id, per-millisecond sequence.
+// Nodes never coordinate; distinct node ids are enough for uniqueness across the cluster.
+// Timestamp and sequence advance together in one AtomicLong, so a node never repeats an id:
+// a sequence overflow or a clock step backwards borrows the next millisecond instead of waiting.
+public final class SnowflakeIds {
+
+    public static final long EPOCH_MILLIS = 1_735_689_600_000L; // 2025-01-01T00:00:00Z
+    public static final int NODE_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeId;
+    private final LongSupplier clock;
+    private final AtomicLong lastTick = new AtomicLong();   // (millis << SEQUENCE_BITS) | sequence
+
+    public SnowflakeIds(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    SnowflakeIds(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("incident.cluster.node-id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    public long next() {
+        long now = (clock.getAsLong() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        long tick = lastTick.updateAndGet(last -> Math.max(last + 1, now));
+        long millis = tick >>> SEQUENCE_BITS;
+        return (millis << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | (tick & SEQUENCE_MASK);
+    }
+
+    // Largest id any node can have generated before epochMillis
+    public static long maxIdBefore(long epochMillis) {
+        return ((epochMillis - EPOCH_MILLIS) << (NODE_BITS + SEQUENCE_BITS)) - 1;
+    }
+
+    public static int nodeOf(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_NODE_ID);
+    }
+}
@@ -0,0 +1,13 @@
+package com.incident.triage.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// Result caches for the filtered list endpoints; sizes and TTL come from spring.cache.caffeine.spec
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String INCIDENTS_BY_SEVERITY = "incidentsBySeverity";
+    public static final String INCIDENTS_BY_CATEGORY = "incidentsByCategory";
+}
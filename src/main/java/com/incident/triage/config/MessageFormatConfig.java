@@ -0,0 +1,38 @@
+package com.incident.triage.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.util.List;
+
+// Binary alternatives to JSON, picked by the Accept header: application/cbor and
+// application/x-jackson-smile. Both replace Spring's default converters so they use the
+// application's Jackson settings (spring.jackson.*) like the JSON converter does.
+@Configuration
+public class MessageFormatConfig {
+
+    // Also serves application/vnd.incident.columns+cbor
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        MappingJackson2CborHttpMessageConverter converter =
+                new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+        converter.setSupportedMediaTypes(List.of(MediaType.APPLICATION_CBOR, new MediaType("application", "*+cbor")));
+        return converter;
+    }
+
+    // Shared string values turn repeated severities, categories and services into back-references
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        SmileFactory factory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(factory).build());
+    }
+}
@@ -0,0 +1,37 @@
+package com.incident.triage.config;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+
+// The fast-startup profile turns on spring.main.lazy-initialization, so request-path beans
+// (controllers, services, exporters) are created on first use. Beans that do work of their
+// own stay eager: scheduled jobs never run on a bean nobody asked for, a listener created by
+// its first event would rebuild state that already includes it, and startup rebuilds and
+// journal replay belong before the first request.
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter backgroundWorkBeans() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && hasBackgroundWork(beanType);
+    }
+
+    private static boolean hasBackgroundWork(Class<?> beanType) {
+        for (Method method : ReflectionUtils.getUniqueDeclaredMethods(beanType, ReflectionUtils.USER_DECLARED_METHODS)) {
+            if (AnnotatedElementUtils.hasAnnotation(method, Scheduled.class)
+                    || AnnotatedElementUtils.hasAnnotation(method, EventListener.class)
+                    || method.isAnnotationPresent(PostConstruct.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,92 @@
+package com.incident.triage.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Streams JFR jdk.VirtualThreadPinned events while virtual threads are enabled. Each pin is
+// timed under incident.vthreads.pinned, tagged with the innermost application frame (or the
+// innermost frame when none), and each new site is logged once with its stack.
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "com.incident.triage.";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final MeterRegistry registry;
+    private final Duration threshold;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry registry,
+                                       @Value("${incident.vthreads.pinned-threshold:20ms}") Duration threshold) {
+        this.registry = registry;
+        this.threshold = threshold;
+    }
+
+    @PostConstruct
+    void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace == null ? List.of() : stackTrace.getFrames();
+        String site = site(frames);
+
+        Timer.builder("incident.vthreads.pinned")
+                .description("Virtual threads pinned to their carrier beyond the threshold")
+                .tag("site", site)
+                .register(registry)
+                .record(event.getDuration());
+
+        if (reportedSites.add(site)) {
+            StringBuilder stack = new StringBuilder();
+            for (int i = 0; i < Math.min(frames.size(), LOGGED_FRAMES); i++) {
+                stack.append("\n\tat ").append(describe(frames.get(i)));
+            }
+            log.warn("Virtual thread pinned for {} ms at {}{}", event.getDuration().toMillis(), site, stack);
+        }
+    }
+
+    private static String site(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            if (frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE)) {
+                return describe(frame);
+            }
+        }
+        return frames.isEmpty() ? "unknown" : describe(frames.get(0));
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+}
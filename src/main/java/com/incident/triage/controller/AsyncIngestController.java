@@ -0,0 +1,71 @@
+package com.incident.triage.controller;
+
+import com.incident.triage.dto.IncidentRequest;
+import com.incident.triage.dto.IngestTicketResponse;
+import com.incident.triage.service.AsyncIngestService;
+import com.incident.triage.service.IngestAdmission;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/incidents/async")
+@Validated
+@ConditionalOnProperty(name = "incident.ingest.async.enabled", havingValue = "true")
+public class AsyncIngestController {
+
+    private final AsyncIngestService asyncIngestService;
+    private final IngestAdmission admission;
+
+    public AsyncIngestController(AsyncIngestService asyncIngestService, IngestAdmission admission) {
+        this.asyncIngestService = asyncIngestService;
+        this.admission = admission;
+    }
+
+    @PostMapping
+    public ResponseEntity<IngestTicketResponse> submitIncident(@Valid @RequestBody IncidentRequest request) {
+        IngestAdmission.Decision decision = admission.admit(request);
+        if (decision.outcome() == IngestAdmission.Outcome.REJECTED) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, IncidentController.retryAfterSeconds(decision))
+                    .build();
+        }
+        if (decision.outcome() == IngestAdmission.Outcome.SUMMARIZED) {
+            return ResponseEntity.accepted().body(new IngestTicketResponse(null, "SUMMARIZED", null));
+        }
+
+        Optional<String> ticket = asyncIngestService.submit(request);
+        if (ticket.isEmpty()) {
+            // Back-pressure: the queue is full
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .build();
+        }
+
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/incidents/async/" + ticket.get()))
+                .body(new IngestTicketResponse(ticket.get(), "QUEUED", null));
+    }
+
+    @GetMapping("/status")
+    public ResponseEntity<Map<String, Long>> getIngestStatus() {
+        return ResponseEntity.ok(asyncIngestService.getStatus());
+    }
+
+    @GetMapping("/{ticket}")
+    public ResponseEntity<IngestTicketResponse> getTicket(@PathVariable String ticket) {
+        IngestTicketResponse response = asyncIngestService.getTicket(ticket);
+        if ("UNKNOWN".equals(response.getStatus())) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,119 @@
+package com.incident.triage.controller;
+
+import com.incident.triage.dto.IncidentColumns;
+import com.incident.triage.dto.IncidentPage;
+import com.incident.triage.dto.IncidentResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Rewrites incident lists and pages into IncidentColumns when the client accepts the columnar
+// media types. The JSON converter already writes application/*+json, and the CBOR converter
+// is registered for application/*+cbor, so only the body changes.
+@ControllerAdvice
+public class IncidentColumnsAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final MediaType COLUMNS_JSON = MediaType.parseMediaType("application/vnd.incident.columns+json");
+    public static final MediaType COLUMNS_CBOR = MediaType.parseMediaType("application/vnd.incident.columns+cbor");
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        ResolvableType type = ResolvableType.forMethodParameter(returnType);
+        if (ResponseEntity.class.isAssignableFrom(type.toClass())) {
+            type = type.getGeneric(0);
+        }
+        return type.toClass() == IncidentPage.class
+                || (List.class.isAssignableFrom(type.toClass()) && type.getGeneric(0).toClass() == IncidentResponse.class);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!COLUMNS_JSON.equalsTypeAndSubtype(selectedContentType)
+                && !COLUMNS_CBOR.equalsTypeAndSubtype(selectedContentType)) {
+            return body;
+        }
+        if (body instanceof IncidentPage page) {
+            return toColumns(page.getItems(), page.getNextCursor());
+        }
+        if (body instanceof List<?> incidents) {
+            return toColumns((List<IncidentResponse>) incidents, null);
+        }
+        return body;
+    }
+
+    static IncidentColumns toColumns(List<IncidentResponse> incidents, String nextCursor) {
+        int count = incidents.size();
+        IncidentColumns columns = new IncidentColumns();
+        columns.setCount(count);
+        columns.setNextCursor(nextCursor);
+        columns.setId(new Long[count]);
+        columns.setTitle(new String[count]);
+        columns.setDescription(new String[count]);
+        columns.setAffectedService(new int[count]);
+        columns.setAiSeverity(new int[count]);
+        columns.setAiCategory(new int[count]);
+        columns.setCreatedAt(new long[count]);
+        columns.setOccurrenceCount(new int[count]);
+        columns.setLastSeenAt(new Long[count]);
+        columns.setOutageId(new Long[count]);
+        columns.setAcknowledgedAt(new Long[count]);
+        columns.setEscalatedAt(new Long[count]);
+        if (count == 0) {
+            return columns;
+        }
+
+        LocalDateTime base = incidents.get(0).getCreatedAt();
+        columns.setTimeBase(base);
+        Map<String, Integer> services = new HashMap<>();
+        Map<String, Integer> severities = new HashMap<>();
+        Map<String, Integer> categories = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            IncidentResponse incident = incidents.get(i);
+            columns.getId()[i] = incident.getId();
+            columns.getTitle()[i] = incident.getTitle();
+            columns.getDescription()[i] = incident.getDescription();
+            columns.getAffectedService()[i] = indexOf(incident.getAffectedService(), services,
+                    columns.getAffectedServices());
+            int severity = indexOf(incident.getAiSeverity(), severities, columns.getAiSeverities());
+            if (severity == columns.getAiSuggestedActions().size()) {
+                columns.getAiSuggestedActions().add(incident.getAiSuggestedAction());
+            }
+            columns.getAiSeverity()[i] = severity;
+            columns.getAiCategory()[i] = indexOf(incident.getAiCategory(), categories, columns.getAiCategories());
+            columns.getCreatedAt()[i] = ChronoUnit.MILLIS.between(base, incident.getCreatedAt());
+            columns.getOccurrenceCount()[i] = incident.getOccurrenceCount();
+            columns.getLastSeenAt()[i] = offset(base, incident.getLastSeenAt());
+            columns.getOutageId()[i] = incident.getOutageId();
+            columns.getAcknowledgedAt()[i] = offset(base, incident.getAcknowledgedAt());
+            columns.getEscalatedAt()[i] = offset(base, incident.getEscalatedAt());
+        }
+        return columns;
+    }
+
+    // Null is a dictionary value like any other, e.g. an untriaged severity
+    private static int indexOf(String value, Map<String, Integer> indexes, List<String> dictionary) {
+        return indexes.computeIfAbsent(value, v -> {
+            dictionary.add(v);
+            return dictionary.size() - 1;
+        });
+    }
+
+    private static Long offset(LocalDateTime base, LocalDateTime time) {
+        return time == null ? null : ChronoUnit.MILLIS.between(base, time);
+    }
+}
@@ -1,22 +1,38 @@
 package com.incident.triage.controller;
 
+import com.incident.triage.dto.IncidentBatchRequest;
+import com.incident.triage.dto.IncidentCursor;
+import com.incident.triage.dto.IncidentPage;
 import com.incident.triage.dto.IncidentRequest;
 import com.incident.triage.dto.IncidentResponse;
+import com.incident.triage.dto.IncidentSummaryResponse;
+import com.incident.triage.dto.RelevanceCursor;
+import com.incident.triage.dto.TrendResponse;
+import com.incident.triage.model.Category;
+import com.incident.triage.model.Severity;
+import com.incident.triage.service.IncidentExportService;
 import com.incident.triage.service.IncidentService;
+import com.incident.triage.service.IncidentTrends;
+import com.incident.triage.service.IngestAdmission;
 import jakarta.validation.Valid;
-import org.springframework.beans.factory.annotation.Autowired;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/incidents")
@@ -24,25 +40,137 @@ import java.util.stream.Stream;
 public class IncidentController {
 
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+    private static final String SUMMARIZED_HEADER = "X-Incidents-Summarized";
+    private static final String REJECTED_HEADER = "X-Incidents-Rejected";
+
     private final IncidentService incidentService;
+    private final IncidentExportService incidentExportService;
+    private final IncidentTrends incidentTrends;
+    private final IngestAdmission admission;
+    private final Validator validator;
+    private final int maxBatchSize;
+    private final int maxPageSize;
+    private final int maxTextOffset;
+    private final int maxTrendBuckets;
 
-    public IncidentController(IncidentService incidentService) {
+    public IncidentController(IncidentService incidentService,
+                              IncidentExportService incidentExportService,
+                              IncidentTrends incidentTrends,
+                              IngestAdmission admission,
+                              Validator validator,
+                              @Value("${incident.batch.max-size:50000}") int maxBatchSize,
+                              @Value("${incident.search.max-page-size:500}") int maxPageSize,
+                              @Value("${incident.search.max-text-offset:10000}") int maxTextOffset,
+                              @Value("${incident.trends.max-buckets:5000}") int maxTrendBuckets) {
         this.incidentService = incidentService;
+        this.incidentExportService = incidentExportService;
+        this.incidentTrends = incidentTrends;
+        this.admission = admission;
+        this.validator = validator;
+        this.maxBatchSize = maxBatchSize;
+        this.maxPageSize = maxPageSize;
+        this.maxTextOffset = maxTextOffset;
+        this.maxTrendBuckets = maxTrendBuckets;
     }
 
 
     @PostMapping
     public ResponseEntity<IncidentResponse> createIncident(@Valid @RequestBody IncidentRequest request) {
+        IngestAdmission.Decision decision = admission.admit(request);
+        if (decision.outcome() == IngestAdmission.Outcome.REJECTED) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(decision))
+                    .build();
+        }
+        if (decision.outcome() == IngestAdmission.Outcome.SUMMARIZED) {
+            // Storm mode: counted into the service's next summary incident
+            return ResponseEntity.accepted().build();
+        }
+
         IncidentResponse response = incidentService.createIncident(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<IncidentResponse>> createIncidents(@RequestBody IncidentBatchRequest request) {
+        // Size first, so an oversized batch is refused without validating every element
+        if (request.getIncidents() != null && request.getIncidents().size() > maxBatchSize) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        if (!validator.validate(request).isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        // Each element is admitted like a single create; only admitted ones are created, and the
+        // headers say how many of the others were summarized or refused
+        List<IngestAdmission.Decision> decisions = admission.admitAll(request.getIncidents());
+        List<IncidentRequest> admitted = new ArrayList<>(decisions.size());
+        int summarized = 0;
+        int rejected = 0;
+        IngestAdmission.Decision longestWait = null;
+        for (int i = 0; i < decisions.size(); i++) {
+            IngestAdmission.Decision decision = decisions.get(i);
+            switch (decision.outcome()) {
+                case ADMITTED -> admitted.add(request.getIncidents().get(i));
+                case SUMMARIZED -> summarized++;
+                case REJECTED -> {
+                    rejected++;
+                    if (longestWait == null || decision.retryAfterNanos() > longestWait.retryAfterNanos()) {
+                        longestWait = decision;
+                    }
+                }
+            }
+        }
+
+        HttpStatus status = !admitted.isEmpty() ? HttpStatus.CREATED
+                : rejected > 0 ? HttpStatus.TOO_MANY_REQUESTS : HttpStatus.ACCEPTED;
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status);
+        if (summarized > 0) {
+            response.header(SUMMARIZED_HEADER, String.valueOf(summarized));
+        }
+        if (rejected > 0) {
+            response.header(REJECTED_HEADER, String.valueOf(rejected))
+                    .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(longestWait));
+        }
+        if (admitted.isEmpty()) {
+            return response.build();
+        }
+        return response.body(incidentService.createIncidents(admitted));
+    }
+
     @GetMapping
     public ResponseEntity<List<IncidentResponse>> getAllIncidents() {
         List<IncidentResponse> incidents = incidentService.getAllIncidents();
         return ResponseEntity.ok(incidents);
     }
 
+    // Lighter list without descriptions; severity and category narrow it down
+    @GetMapping("/summary")
+    public ResponseEntity<List<IncidentSummaryResponse>> getIncidentSummaries(
+            @RequestParam(required = false) String severity,
+            @RequestParam(required = false) String category) {
+
+        Severity severityFilter = null;
+        Category categoryFilter = null;
+        if (severity != null && !severity.isEmpty()) {
+            severityFilter = Severity.parse(severity).orElse(null);
+            if (severityFilter == null) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        if (category != null && !category.isEmpty()) {
+            categoryFilter = Category.parse(category).orElse(null);
+            if (categoryFilter == null) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
+        List<IncidentSummaryResponse> summaries = incidentService.getIncidentSummaries(severityFilter, categoryFilter);
+        return ResponseEntity.ok(summaries);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<IncidentResponse> getIncidentById(@PathVariable Long id) {
         return incidentService.getIncidentById(id)
@@ -50,26 +178,35 @@ public class IncidentController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // Stops escalation of the incident; 200 with the incident, also when it was already acknowledged
+    @PostMapping("/{id}/acknowledge")
+    public ResponseEntity<IncidentResponse> acknowledgeIncident(@PathVariable Long id) {
+        return incidentService.acknowledgeIncident(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/severity/{severity}")
     public ResponseEntity<List<IncidentResponse>> getIncidentsBySeverity(@PathVariable String severity) {
         // Validate severity value
-        if (!Arrays.asList("HIGH", "MEDIUM", "LOW").contains(severity.toUpperCase())) {
+        Optional<Severity> value = Severity.parse(severity);
+        if (value.isEmpty()) {
             return ResponseEntity.badRequest().build();
         }
 
-        List<IncidentResponse> incidents = incidentService.getIncidentsBySeverity(severity.toUpperCase());
+        List<IncidentResponse> incidents = incidentService.getIncidentsBySeverity(value.get());
         return ResponseEntity.ok(incidents);
     }
 
     @GetMapping("/category/{category}")
     public ResponseEntity<List<IncidentResponse>> getIncidentsByCategory(@PathVariable String category) {
         // Validate category value
-        List<String> validCategories = Arrays.asList("DATABASE", "NETWORK", "APPLICATION", "INFRASTRUCTURE");
-        if (!validCategories.contains(category.toUpperCase())) {
+        Optional<Category> value = Category.parse(category);
+        if (value.isEmpty()) {
             return ResponseEntity.badRequest().build();
         }
 
-        List<IncidentResponse> incidents = incidentService.getIncidentsByCategory(category.toUpperCase());
+        List<IncidentResponse> incidents = incidentService.getIncidentsByCategory(value.get());
         return ResponseEntity.ok(incidents);
     }
 
@@ -86,38 +223,134 @@ public class IncidentController {
         return ResponseEntity.ok(incidents);
     }
 
+    // Streaming export for archiving; nothing is materialized in memory
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportIncidents(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+
+        if ((startDate == null) != (endDate == null) || (startDate != null && startDate.isAfter(endDate))) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return switch (format.toLowerCase()) {
+            case "ndjson" -> ResponseEntity.ok()
+                    .contentType(NDJSON)
+                    .body(out -> incidentExportService.writeNdjson(startDate, endDate, out));
+            case "csv" -> ResponseEntity.ok()
+                    .contentType(GZIP)
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            ContentDisposition.attachment().filename("incidents.csv.gz").build().toString())
+                    .body(out -> incidentExportService.writeGzipCsv(startDate, endDate, out));
+            default -> ResponseEntity.badRequest().build();
+        };
+    }
+
     @GetMapping("/statistics")
     public ResponseEntity<Map<String, Long>> getIncidentStatistics() {
         Map<String, Long> stats = incidentService.getIncidentStatistics();
         return ResponseEntity.ok(stats);
     }
 
-    // Enhanced endpoint with filtering support
+    // Counts per minute, hour or day from pre-aggregated buckets; to defaults to now
+    @GetMapping("/trends")
+    public ResponseEntity<TrendResponse> getIncidentTrends(
+            @RequestParam(defaultValue = "hour") String bucket,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        Optional<IncidentTrends.Resolution> resolution = IncidentTrends.Resolution.parse(bucket);
+        LocalDateTime end = to == null ? LocalDateTime.now() : to;
+        if (resolution.isEmpty() || from.isAfter(end)
+                || incidentTrends.bucketCount(resolution.get(), from, end) > maxTrendBuckets) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        TrendResponse trends = incidentTrends.trends(resolution.get(), from, end);
+        return ResponseEntity.ok(trends);
+    }
+
+    // Enhanced endpoint with filtering support, pushed down to SQL and keyset-paginated.
+    // With q it becomes a relevance-ranked full-text search over title and description.
     @GetMapping("/search")
-    public ResponseEntity<List<IncidentResponse>> searchIncidents(
+    public ResponseEntity<IncidentPage> searchIncidents(
+            @RequestParam(required = false) String q,
             @RequestParam(required = false) String severity,
             @RequestParam(required = false) String category,
-            @RequestParam(required = false) String affectedService) {
+            @RequestParam(required = false) String affectedService,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
 
-        List<IncidentResponse> allIncidents = incidentService.getAllIncidents();
-
-        // Apply filters if provided
-        Stream<IncidentResponse> filteredStream = allIncidents.stream();
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
 
+        // Unknown filter values are rejected rather than silently matching nothing
+        Severity severityFilter = null;
+        Category categoryFilter = null;
         if (severity != null && !severity.isEmpty()) {
-            filteredStream = filteredStream.filter(i -> i.getAiSeverity().equalsIgnoreCase(severity));
+            severityFilter = Severity.parse(severity).orElse(null);
+            if (severityFilter == null) {
+                return ResponseEntity.badRequest().build();
+            }
         }
-
         if (category != null && !category.isEmpty()) {
-            filteredStream = filteredStream.filter(i -> i.getAiCategory().equalsIgnoreCase(category));
+            categoryFilter = Category.parse(category).orElse(null);
+            if (categoryFilter == null) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        boolean hasCursor = cursor != null && !cursor.isEmpty();
+
+        if (q != null && !q.isBlank()) {
+            RelevanceCursor position = null;
+            try {
+                if (hasCursor) {
+                    position = RelevanceCursor.decode(cursor);
+                }
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+            if (position != null && position.offset() > maxTextOffset) {
+                return ResponseEntity.badRequest().build();
+            }
+
+            // Query text the parser refuses even after escaping is the caller's error, not ours
+            try {
+                IncidentPage page = incidentService.fullTextSearch(q,
+                        severityFilter,
+                        categoryFilter,
+                        blankToNull(affectedService),
+                        position,
+                        pageSize);
+                return ResponseEntity.ok(page);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
         }
 
-        if (affectedService != null && !affectedService.isEmpty()) {
-            filteredStream = filteredStream.filter(i ->
-                    i.getAffectedService().toLowerCase().contains(affectedService.toLowerCase()));
+        IncidentCursor position = null;
+        if (hasCursor) {
+            try {
+                position = IncidentCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
         }
 
-        List<IncidentResponse> filteredIncidents = filteredStream.collect(Collectors.toList());
-        return ResponseEntity.ok(filteredIncidents);
+        IncidentPage page = incidentService.searchIncidents(
+                severityFilter,
+                categoryFilter,
+                blankToNull(affectedService),
+                position,
+                pageSize);
+        return ResponseEntity.ok(page);
+    }
+
+    static String retryAfterSeconds(IngestAdmission.Decision decision) {
+        return String.valueOf(Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(decision.retryAfterNanos() + 999_999_999L)));
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
     }
 }
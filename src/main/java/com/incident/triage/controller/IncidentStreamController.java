@@ -0,0 +1,63 @@
+package com.incident.triage.controller;
+
+import com.incident.triage.model.Category;
+import com.incident.triage.model.Severity;
+import com.incident.triage.service.IncidentStreamHub;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/incidents/stream")
+public class IncidentStreamController {
+
+    private final IncidentStreamHub streamHub;
+
+    public IncidentStreamController(IncidentStreamHub streamHub) {
+        this.streamHub = streamHub;
+    }
+
+    // Pushes each committed incident matching the filters as an SSE "incident" event
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamIncidents(
+            @RequestParam(required = false) String severity,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String affectedService) {
+
+        Severity severityFilter = null;
+        Category categoryFilter = null;
+        if (severity != null && !severity.isEmpty()) {
+            severityFilter = Severity.parse(severity).orElse(null);
+            if (severityFilter == null) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        if (category != null && !category.isEmpty()) {
+            categoryFilter = Category.parse(category).orElse(null);
+            if (categoryFilter == null) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        String serviceFilter = affectedService == null || affectedService.isEmpty() ? null : affectedService;
+
+        Optional<SseEmitter> emitter = streamHub.subscribe(
+                new IncidentStreamHub.Filter(severityFilter, categoryFilter, serviceFilter));
+        if (emitter.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
+        }
+        return ResponseEntity.ok()
+                // Stops nginx-style proxies from buffering the stream
+                .header("X-Accel-Buffering", "no")
+                .body(emitter.get());
+    }
+}
@@ -0,0 +1,43 @@
+package com.incident.triage.controller;
+
+import com.incident.triage.dto.IncidentSummaryResponse;
+import com.incident.triage.dto.OutageResponse;
+import com.incident.triage.service.IncidentService;
+import com.incident.triage.service.OutageCorrelator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/outages")
+public class OutageController {
+
+    private final OutageCorrelator outageCorrelator;
+    private final IncidentService incidentService;
+    private final int maxPageSize;
+
+    public OutageController(OutageCorrelator outageCorrelator, IncidentService incidentService,
+                            @Value("${incident.search.max-page-size:500}") int maxPageSize) {
+        this.outageCorrelator = outageCorrelator;
+        this.incidentService = incidentService;
+        this.maxPageSize = maxPageSize;
+    }
+
+    // Newest first; active=true keeps only outages still accepting incidents
+    @GetMapping
+    public ResponseEntity<List<OutageResponse>> getOutages(
+            @RequestParam(required = false) String service,
+            @RequestParam(defaultValue = "false") boolean active,
+            @RequestParam(defaultValue = "50") int size) {
+        String serviceFilter = service == null || service.isEmpty() ? null : service;
+        int limit = Math.max(1, Math.min(size, maxPageSize));
+        return ResponseEntity.ok(outageCorrelator.outages(serviceFilter, active, limit));
+    }
+
+    @GetMapping("/{id}/incidents")
+    public ResponseEntity<List<IncidentSummaryResponse>> getOutageIncidents(@PathVariable Long id) {
+        return ResponseEntity.ok(incidentService.getOutageIncidents(id));
+    }
+}
@@ -0,0 +1,28 @@
+package com.incident.triage.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class IncidentBatchRequest {
+    @NotEmpty(message = "At least one incident is required")
+    private List<@Valid IncidentRequest> incidents;
+
+    public IncidentBatchRequest() {
+        this.incidents = new ArrayList<>();
+    }
+
+    public IncidentBatchRequest(List<IncidentRequest> incidents) {
+        this.incidents = incidents;
+    }
+
+    public List<IncidentRequest> getIncidents() {
+        return incidents;
+    }
+
+    public void setIncidents(List<IncidentRequest> incidents) {
+        this.incidents = incidents;
+    }
+}
@@ -0,0 +1,195 @@
+package com.incident.triage.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Column-per-field form of an incident list (application/vnd.incident.columns+json or +cbor):
+// row i is the i-th element of every column, and repeated strings are sent once per response
+public class IncidentColumns {
+
+    private int count;
+    private LocalDateTime timeBase;               // timestamp columns hold milliseconds from here
+    // Dictionaries: each distinct value once, referenced by index from the columns below
+    private List<String> affectedServices;
+    private List<String> aiSeverities;
+    private List<String> aiSuggestedActions;      // parallel to aiSeverities
+    private List<String> aiCategories;
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private Long[] id;                            // ids are strings on the wire, as everywhere else
+    private String[] title;
+    private String[] description;
+    private int[] affectedService;
+    private int[] aiSeverity;
+    private int[] aiCategory;
+    private long[] createdAt;
+    private int[] occurrenceCount;
+    private Long[] lastSeenAt;
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private Long[] outageId;
+    private Long[] acknowledgedAt;
+    private Long[] escalatedAt;
+    private String nextCursor;
+
+    public IncidentColumns() {
+        this.affectedServices = new ArrayList<>();
+        this.aiSeverities = new ArrayList<>();
+        this.aiSuggestedActions = new ArrayList<>();
+        this.aiCategories = new ArrayList<>();
+        this.nextCursor = null;          // null when there are no more pages
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public LocalDateTime getTimeBase() {
+        return timeBase;
+    }
+
+    public void setTimeBase(LocalDateTime timeBase) {
+        this.timeBase = timeBase;
+    }
+
+    public List<String> getAffectedServices() {
+        return affectedServices;
+    }
+
+    public void setAffectedServices(List<String> affectedServices) {
+        this.affectedServices = affectedServices;
+    }
+
+    public List<String> getAiSeverities() {
+        return aiSeverities;
+    }
+
+    public void setAiSeverities(List<String> aiSeverities) {
+        this.aiSeverities = aiSeverities;
+    }
+
+    public List<String> getAiSuggestedActions() {
+        return aiSuggestedActions;
+    }
+
+    public void setAiSuggestedActions(List<String> aiSuggestedActions) {
+        this.aiSuggestedActions = aiSuggestedActions;
+    }
+
+    public List<String> getAiCategories() {
+        return aiCategories;
+    }
+
+    public void setAiCategories(List<String> aiCategories) {
+        this.aiCategories = aiCategories;
+    }
+
+    public Long[] getId() {
+        return id;
+    }
+
+    public void setId(Long[] id) {
+        this.id = id;
+    }
+
+    public String[] getTitle() {
+        return title;
+    }
+
+    public void setTitle(String[] title) {
+        this.title = title;
+    }
+
+    public String[] getDescription() {
+        return description;
+    }
+
+    public void setDescription(String[] description) {
+        this.description = description;
+    }
+
+    public int[] getAffectedService() {
+        return affectedService;
+    }
+
+    public void setAffectedService(int[] affectedService) {
+        this.affectedService = affectedService;
+    }
+
+    public int[] getAiSeverity() {
+        return aiSeverity;
+    }
+
+    public void setAiSeverity(int[] aiSeverity) {
+        this.aiSeverity = aiSeverity;
+    }
+
+    public int[] getAiCategory() {
+        return aiCategory;
+    }
+
+    public void setAiCategory(int[] aiCategory) {
+        this.aiCategory = aiCategory;
+    }
+
+    public long[] getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(long[] createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public int[] getOccurrenceCount() {
+        return occurrenceCount;
+    }
+
+    public void setOccurrenceCount(int[] occurrenceCount) {
+        this.occurrenceCount = occurrenceCount;
+    }
+
+    public Long[] getLastSeenAt() {
+        return lastSeenAt;
+    }
+
+    public void setLastSeenAt(Long[] lastSeenAt) {
+        this.lastSeenAt = lastSeenAt;
+    }
+
+    public Long[] getOutageId() {
+        return outageId;
+    }
+
+    public void setOutageId(Long[] outageId) {
+        this.outageId = outageId;
+    }
+
+    public Long[] getAcknowledgedAt() {
+        return acknowledgedAt;
+    }
+
+    public void setAcknowledgedAt(Long[] acknowledgedAt) {
+        this.acknowledgedAt = acknowledgedAt;
+    }
+
+    public Long[] getEscalatedAt() {
+        return escalatedAt;
+    }
+
+    public void setEscalatedAt(Long[] escalatedAt) {
+        this.escalatedAt = escalatedAt;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
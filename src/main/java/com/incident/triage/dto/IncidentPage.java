@@ -0,0 +1,36 @@
+package com.incident.triage.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class IncidentPage {
+
+    private List<IncidentResponse> items;
+    private String nextCursor;
+
+    public IncidentPage() {
+        this.items = new ArrayList<>();
+        this.nextCursor = null;          // null when there are no more pages
+    }
+
+    public IncidentPage(List<IncidentResponse> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<IncidentResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<IncidentResponse> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
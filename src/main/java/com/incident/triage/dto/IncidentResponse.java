@@ -1,9 +1,13 @@
 package com.incident.triage.dto;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
+
 import java.time.LocalDateTime;
 
 public class IncidentResponse {
 
+        // Snowflake ids exceed 2^53, so they are sent as strings to stay exact in JavaScript
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
         private Long id;
         private String title;
         private String description;
@@ -12,6 +16,12 @@ public class IncidentResponse {
         private String aiCategory;
         private String aiSuggestedAction;
         private LocalDateTime createdAt;
+        private int occurrenceCount;
+        private LocalDateTime lastSeenAt;
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        private Long outageId;
+        private LocalDateTime acknowledgedAt;
+        private LocalDateTime escalatedAt;
 
 
 
@@ -24,6 +34,11 @@ public class IncidentResponse {
         this.aiCategory = null;          // can be populated later
         this.aiSuggestedAction = null;   // can be populated later
         this.createdAt = LocalDateTime.now();
+        this.occurrenceCount = 1;
+        this.lastSeenAt = null;
+        this.outageId = null;
+        this.acknowledgedAt = null;
+        this.escalatedAt = null;
     }
 
 
@@ -91,4 +106,43 @@ public class IncidentResponse {
         this.createdAt = createdAt;
     }
 
+    public int getOccurrenceCount() {
+        return occurrenceCount;
+    }
+
+    public void setOccurrenceCount(int occurrenceCount) {
+        this.occurrenceCount = occurrenceCount;
+    }
+
+    public LocalDateTime getLastSeenAt() {
+        return lastSeenAt;
+    }
+
+    public void setLastSeenAt(LocalDateTime lastSeenAt) {
+        this.lastSeenAt = lastSeenAt;
+    }
+
+    public Long getOutageId() {
+        return outageId;
+    }
+
+    public void setOutageId(Long outageId) {
+        this.outageId = outageId;
+    }
+
+    public LocalDateTime getAcknowledgedAt() {
+        return acknowledgedAt;
+    }
+
+    public void setAcknowledgedAt(LocalDateTime acknowledgedAt) {
+        this.acknowledgedAt = acknowledgedAt;
+    }
+
+    public LocalDateTime getEscalatedAt() {
+        return escalatedAt;
+    }
+
+    public void setEscalatedAt(LocalDateTime escalatedAt) {
+        this.escalatedAt = escalatedAt;
+    }
 }
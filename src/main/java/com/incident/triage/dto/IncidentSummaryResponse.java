@@ -0,0 +1,94 @@
+package com.incident.triage.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+public class IncidentSummaryResponse {
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private Long id;
+    private String title;
+    private String affectedService;
+    private String aiSeverity;
+    private String aiCategory;
+    private String aiSuggestedAction;
+    private LocalDateTime createdAt;
+    private int occurrenceCount;
+    private LocalDateTime lastSeenAt;
+
+    public IncidentSummaryResponse() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getAffectedService() {
+        return affectedService;
+    }
+
+    public void setAffectedService(String affectedService) {
+        this.affectedService = affectedService;
+    }
+
+    public String getAiSeverity() {
+        return aiSeverity;
+    }
+
+    public void setAiSeverity(String aiSeverity) {
+        this.aiSeverity = aiSeverity;
+    }
+
+    public String getAiCategory() {
+        return aiCategory;
+    }
+
+    public void setAiCategory(String aiCategory) {
+        this.aiCategory = aiCategory;
+    }
+
+    public String getAiSuggestedAction() {
+        return aiSuggestedAction;
+    }
+
+    public void setAiSuggestedAction(String aiSuggestedAction) {
+        this.aiSuggestedAction = aiSuggestedAction;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public int getOccurrenceCount() {
+        return occurrenceCount;
+    }
+
+    public void setOccurrenceCount(int occurrenceCount) {
+        this.occurrenceCount = occurrenceCount;
+    }
+
+    public LocalDateTime getLastSeenAt() {
+        return lastSeenAt;
+    }
+
+    public void setLastSeenAt(LocalDateTime lastSeenAt) {
+        this.lastSeenAt = lastSeenAt;
+    }
+}
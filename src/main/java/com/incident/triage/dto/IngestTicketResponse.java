@@ -0,0 +1,56 @@
+package com.incident.triage.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+public class IngestTicketResponse {
+
+    private String ticket;
+    private String status;      // QUEUED, PERSISTED, FAILED, UNKNOWN
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private Long incidentId;
+    private String error;       // set for FAILED only
+
+    public IngestTicketResponse() {
+        this.ticket = "";
+        this.status = null;
+        this.incidentId = null;       // set once the incident is persisted
+    }
+
+    public IngestTicketResponse(String ticket, String status, Long incidentId) {
+        this.ticket = ticket;
+        this.status = status;
+        this.incidentId = incidentId;
+    }
+
+    public String getTicket() {
+        return ticket;
+    }
+
+    public void setTicket(String ticket) {
+        this.ticket = ticket;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getIncidentId() {
+        return incidentId;
+    }
+
+    public void setIncidentId(Long incidentId) {
+        this.incidentId = incidentId;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
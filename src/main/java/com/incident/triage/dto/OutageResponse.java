@@ -0,0 +1,94 @@
+package com.incident.triage.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+public class OutageResponse {
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private Long id;
+    private String affectedService;
+    private String aiCategory;
+    private String aiSeverity;
+    private String title;
+    private LocalDateTime startedAt;
+    private LocalDateTime lastIncidentAt;
+    private int memberCount;
+    private boolean active;          // still accepting incidents
+
+    public OutageResponse() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getAffectedService() {
+        return affectedService;
+    }
+
+    public void setAffectedService(String affectedService) {
+        this.affectedService = affectedService;
+    }
+
+    public String getAiCategory() {
+        return aiCategory;
+    }
+
+    public void setAiCategory(String aiCategory) {
+        this.aiCategory = aiCategory;
+    }
+
+    public String getAiSeverity() {
+        return aiSeverity;
+    }
+
+    public void setAiSeverity(String aiSeverity) {
+        this.aiSeverity = aiSeverity;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getLastIncidentAt() {
+        return lastIncidentAt;
+    }
+
+    public void setLastIncidentAt(LocalDateTime lastIncidentAt) {
+        this.lastIncidentAt = lastIncidentAt;
+    }
+
+    public int getMemberCount() {
+        return memberCount;
+    }
+
+    public void setMemberCount(int memberCount) {
+        this.memberCount = memberCount;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+}
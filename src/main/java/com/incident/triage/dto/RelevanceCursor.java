@@ -0,0 +1,31 @@
+package com.incident.triage.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Opaque position in a relevance-ranked full-text result list
+public record RelevanceCursor(int offset) {
+
+    private static final String PREFIX = "rank:";
+
+    public String encode() {
+        String raw = PREFIX + offset;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static RelevanceCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Not a relevance cursor");
+            }
+            int offset = Integer.parseInt(raw.substring(PREFIX.length()));
+            if (offset < 0) {
+                throw new IllegalArgumentException("Negative offset");
+            }
+            return new RelevanceCursor(offset);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
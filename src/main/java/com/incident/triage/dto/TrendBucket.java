@@ -0,0 +1,71 @@
+package com.incident.triage.dto;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+public class TrendBucket {
+
+    private LocalDateTime start;
+    private long total;
+    private Map<String, Long> bySeverity;
+    private Map<String, Long> byCategory;
+    private Map<String, Long> byAffectedService;
+
+    public TrendBucket() {
+        this.start = null;
+        this.total = 0L;
+        this.bySeverity = new HashMap<>();
+        this.byCategory = new HashMap<>();
+        this.byAffectedService = new HashMap<>();
+    }
+
+    public TrendBucket(LocalDateTime start, long total, Map<String, Long> bySeverity,
+                       Map<String, Long> byCategory, Map<String, Long> byAffectedService) {
+        this.start = start;
+        this.total = total;
+        this.bySeverity = bySeverity;
+        this.byCategory = byCategory;
+        this.byAffectedService = byAffectedService;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public void setStart(LocalDateTime start) {
+        this.start = start;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public Map<String, Long> getBySeverity() {
+        return bySeverity;
+    }
+
+    public void setBySeverity(Map<String, Long> bySeverity) {
+        this.bySeverity = bySeverity;
+    }
+
+    public Map<String, Long> getByCategory() {
+        return byCategory;
+    }
+
+    public void setByCategory(Map<String, Long> byCategory) {
+        this.byCategory = byCategory;
+    }
+
+    public Map<String, Long> getByAffectedService() {
+        return byAffectedService;
+    }
+
+    public void setByAffectedService(Map<String, Long> byAffectedService) {
+        this.byAffectedService = byAffectedService;
+    }
+}
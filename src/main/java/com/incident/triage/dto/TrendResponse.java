@@ -0,0 +1,67 @@
+package com.incident.triage.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TrendResponse {
+
+    private String bucket;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private LocalDateTime retainedFrom;   // oldest bucket still held at this resolution
+    private List<TrendBucket> buckets;
+
+    public TrendResponse() {
+        this.buckets = new ArrayList<>();
+    }
+
+    public TrendResponse(String bucket, LocalDateTime from, LocalDateTime to, LocalDateTime retainedFrom,
+                         List<TrendBucket> buckets) {
+        this.bucket = bucket;
+        this.from = from;
+        this.to = to;
+        this.retainedFrom = retainedFrom;
+        this.buckets = buckets;
+    }
+
+    public String getBucket() {
+        return bucket;
+    }
+
+    public void setBucket(String bucket) {
+        this.bucket = bucket;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+
+    public LocalDateTime getRetainedFrom() {
+        return retainedFrom;
+    }
+
+    public void setRetainedFrom(LocalDateTime retainedFrom) {
+        this.retainedFrom = retainedFrom;
+    }
+
+    public List<TrendBucket> getBuckets() {
+        return buckets;
+    }
+
+    public void setBuckets(List<TrendBucket> buckets) {
+        this.buckets = buckets;
+    }
+}
@@ -0,0 +1,164 @@
+package com.incident.triage.engine;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.TreeSet;
+
+// Aho-Corasick automaton over case-folded chars. Keywords are grouped into tiers
+// (tier 0 has the highest priority) and a text is classified in a single pass
+// without allocating lowercase copies.
+final class KeywordMatcher {
+
+    private static final int ASCII = 128;
+    private static final int NO_MATCH = -1;
+
+    private final int[] asciiSymbols;      // char -> alphabet index, -1 if unused
+    private final char[] extendedChars;    // sorted non-ASCII alphabet chars
+    private final int[] extendedSymbols;
+    private final int[][] transitions;     // state x alphabet index -> next state
+    private final int[] outputs;           // bitmask of tiers recognised in each state
+
+    private KeywordMatcher(int[] asciiSymbols, char[] extendedChars, int[] extendedSymbols,
+                           int[][] transitions, int[] outputs) {
+        this.asciiSymbols = asciiSymbols;
+        this.extendedChars = extendedChars;
+        this.extendedSymbols = extendedSymbols;
+        this.transitions = transitions;
+        this.outputs = outputs;
+    }
+
+    static KeywordMatcher compile(String[]... tiers) {
+        if (tiers.length > Integer.SIZE) {
+            throw new IllegalArgumentException("At most " + Integer.SIZE + " keyword tiers are supported");
+        }
+
+        // Build the alphabet from every case-folded keyword char
+        TreeSet<Character> alphabet = new TreeSet<>();
+        for (String[] keywords : tiers) {
+            for (String keyword : keywords) {
+                if (keyword.isEmpty()) {
+                    throw new IllegalArgumentException("Keywords must not be empty");
+                }
+                for (int i = 0; i < keyword.length(); i++) {
+                    alphabet.add(Character.toLowerCase(keyword.charAt(i)));
+                }
+            }
+        }
+
+        int[] asciiSymbols = new int[ASCII];
+        Arrays.fill(asciiSymbols, NO_MATCH);
+        List<Character> extended = new ArrayList<>();
+        int symbolCount = 0;
+        for (char c : alphabet) {
+            if (c < ASCII) {
+                asciiSymbols[c] = symbolCount;
+            } else {
+                extended.add(c);
+            }
+            symbolCount++;
+        }
+        char[] extendedChars = new char[extended.size()];
+        int[] extendedSymbols = new int[extended.size()];
+        int asciiCount = symbolCount - extended.size();
+        for (int i = 0; i < extendedChars.length; i++) {
+            extendedChars[i] = extended.get(i);
+            extendedSymbols[i] = asciiCount + i;
+        }
+
+        // Trie of all keywords, tagged with the tier bit at each terminal state
+        List<int[]> trie = new ArrayList<>();
+        List<Integer> trieOutputs = new ArrayList<>();
+        trie.add(newState(symbolCount));
+        trieOutputs.add(0);
+        for (int tier = 0; tier < tiers.length; tier++) {
+            for (String keyword : tiers[tier]) {
+                int state = 0;
+                for (int i = 0; i < keyword.length(); i++) {
+                    int symbol = symbolOf(Character.toLowerCase(keyword.charAt(i)),
+                            asciiSymbols, extendedChars, extendedSymbols);
+                    if (trie.get(state)[symbol] == NO_MATCH) {
+                        trie.get(state)[symbol] = trie.size();
+                        trie.add(newState(symbolCount));
+                        trieOutputs.add(0);
+                    }
+                    state = trie.get(state)[symbol];
+                }
+                trieOutputs.set(state, trieOutputs.get(state) | (1 << tier));
+            }
+        }
+
+        // Breadth-first pass turns the trie into a complete DFA by following failure links
+        int[][] transitions = trie.toArray(new int[0][]);
+        int[] outputs = trieOutputs.stream().mapToInt(Integer::intValue).toArray();
+        int[] failure = new int[transitions.length];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < symbolCount; symbol++) {
+            int next = transitions[0][symbol];
+            if (next == NO_MATCH) {
+                transitions[0][symbol] = 0;
+            } else {
+                failure[next] = 0;
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int symbol = 0; symbol < symbolCount; symbol++) {
+                int next = transitions[state][symbol];
+                if (next == NO_MATCH) {
+                    transitions[state][symbol] = transitions[failure[state]][symbol];
+                } else {
+                    failure[next] = transitions[failure[state]][symbol];
+                    outputs[next] |= outputs[failure[next]];
+                    queue.add(next);
+                }
+            }
+        }
+
+        return new KeywordMatcher(asciiSymbols, extendedChars, extendedSymbols, transitions, outputs);
+    }
+
+    // Returns the highest-priority tier matched in either text, or -1 when nothing matches
+    int firstMatch(CharSequence first, CharSequence second) {
+        int mask = scan(first, 0);
+        if ((mask & 1) == 0) {
+            mask = scan(second, mask);
+        }
+        return mask == 0 ? NO_MATCH : Integer.numberOfTrailingZeros(mask);
+    }
+
+    private int scan(CharSequence text, int mask) {
+        if (text == null) {
+            return mask;
+        }
+        int state = 0;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            int symbol = symbolOf(Character.toLowerCase(text.charAt(i)),
+                    asciiSymbols, extendedChars, extendedSymbols);
+            state = symbol == NO_MATCH ? 0 : transitions[state][symbol];
+            mask |= outputs[state];
+            if ((mask & 1) != 0) {
+                // Nothing can outrank tier 0, stop scanning
+                return mask;
+            }
+        }
+        return mask;
+    }
+
+    private static int symbolOf(char c, int[] asciiSymbols, char[] extendedChars, int[] extendedSymbols) {
+        if (c < ASCII) {
+            return asciiSymbols[c];
+        }
+        int index = Arrays.binarySearch(extendedChars, c);
+        return index < 0 ? NO_MATCH : extendedSymbols[index];
+    }
+
+    private static int[] newState(int symbolCount) {
+        int[] state = new int[symbolCount];
+        Arrays.fill(state, NO_MATCH);
+        return state;
+    }
+}
@@ -0,0 +1,139 @@
+package com.incident.triage.engine;
+
+import com.incident.triage.model.Category;
+import com.incident.triage.model.Severity;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+// Two multinomial naive-Bayes classifiers (severity and category) over hashed n-gram features
+public final class NaiveBayesModel {
+
+    private static final int MAGIC = 0x49544E42; // "ITNB"
+    private static final int VERSION = 1;
+
+    private final int dimensions;
+    private final Classifier severity;
+    private final Classifier category;
+
+    NaiveBayesModel(int dimensions, Classifier severity, Classifier category) {
+        if (Integer.bitCount(dimensions) != 1) {
+            throw new IllegalArgumentException("Feature dimensions must be a power of two: " + dimensions);
+        }
+        this.dimensions = dimensions;
+        this.severity = severity;
+        this.category = category;
+    }
+
+    int dimensions() {
+        return dimensions;
+    }
+
+    TriageResult classify(TextFeatures.FeatureVector features) {
+        // Labels are stored by enum name so the model file does not depend on column codes
+        return new TriageResult(Severity.valueOf(severity.predict(features, dimensions)),
+                Category.valueOf(category.predict(features, dimensions)));
+    }
+
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(dimensions);
+        severity.writeTo(out);
+        category.writeTo(out);
+    }
+
+    public static NaiveBayesModel readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a triage model file");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported triage model version " + version);
+        }
+        int dimensions = in.readInt();
+        return new NaiveBayesModel(dimensions, Classifier.readFrom(in, dimensions), Classifier.readFrom(in, dimensions));
+    }
+
+    static final class Classifier {
+        private final String[] labels;
+        private final double[] logPriors;
+        private final float[] logLikelihoods; // [label * dimensions + feature]
+
+        Classifier(String[] labels, double[] logPriors, float[] logLikelihoods) {
+            this.labels = labels;
+            this.logPriors = logPriors;
+            this.logLikelihoods = logLikelihoods;
+        }
+
+        // Laplace-smoothed estimates from per-label feature counts
+        static Classifier fromCounts(List<String> labels, long[] documents, long[] counts, int dimensions, double alpha) {
+            int labelCount = labels.size();
+            long totalDocuments = 0L;
+            for (long d : documents) {
+                totalDocuments += d;
+            }
+
+            double[] logPriors = new double[labelCount];
+            float[] logLikelihoods = new float[labelCount * dimensions];
+            for (int label = 0; label < labelCount; label++) {
+                logPriors[label] = Math.log((documents[label] + 1.0) / (totalDocuments + labelCount));
+                long labelTotal = 0L;
+                for (int f = 0; f < dimensions; f++) {
+                    labelTotal += counts[label * dimensions + f];
+                }
+                double denominator = Math.log(labelTotal + alpha * dimensions);
+                for (int f = 0; f < dimensions; f++) {
+                    logLikelihoods[label * dimensions + f] =
+                            (float) (Math.log(counts[label * dimensions + f] + alpha) - denominator);
+                }
+            }
+            return new Classifier(labels.toArray(new String[0]), logPriors, logLikelihoods);
+        }
+
+        String predict(TextFeatures.FeatureVector features, int dimensions) {
+            int best = 0;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int label = 0; label < labels.length; label++) {
+                double score = logPriors[label];
+                int offset = label * dimensions;
+                for (int i = 0; i < features.size(); i++) {
+                    score += logLikelihoods[offset + features.get(i)];
+                }
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = label;
+                }
+            }
+            return labels[best];
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeInt(labels.length);
+            for (int label = 0; label < labels.length; label++) {
+                out.writeUTF(labels[label]);
+                out.writeDouble(logPriors[label]);
+            }
+            for (float value : logLikelihoods) {
+                out.writeFloat(value);
+            }
+        }
+
+        static Classifier readFrom(DataInputStream in, int dimensions) throws IOException {
+            int labelCount = in.readInt();
+            String[] labels = new String[labelCount];
+            double[] logPriors = new double[labelCount];
+            for (int label = 0; label < labelCount; label++) {
+                labels[label] = in.readUTF();
+                logPriors[label] = in.readDouble();
+            }
+            float[] logLikelihoods = new float[labelCount * dimensions];
+            for (int i = 0; i < logLikelihoods.length; i++) {
+                logLikelihoods[i] = in.readFloat();
+            }
+            return new Classifier(labels, logPriors, logLikelihoods);
+        }
+    }
+}
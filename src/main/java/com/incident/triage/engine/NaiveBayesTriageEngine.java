@@ -0,0 +1,39 @@
+package com.incident.triage.engine;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Local naive-Bayes model trained offline by TriageModelTrainer
+@Component
+@ConditionalOnProperty(name = "triage.engine", havingValue = NaiveBayesTriageEngine.NAME)
+public class NaiveBayesTriageEngine implements TriageEngine {
+
+    public static final String NAME = "naive-bayes";
+
+    private final NaiveBayesModel model;
+
+    public NaiveBayesTriageEngine(@Value("${triage.model.path}") Path modelPath) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(modelPath)))) {
+            this.model = NaiveBayesModel.readFrom(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load triage model from " + modelPath, e);
+        }
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public TriageResult classify(String title, String description, String affectedService) {
+        return model.classify(TextFeatures.extract(title, description, affectedService, model.dimensions()));
+    }
+}
@@ -0,0 +1,44 @@
+package com.incident.triage.engine;
+
+import com.incident.triage.model.Category;
+import com.incident.triage.model.Severity;
+import org.springframework.stereotype.Component;
+
+// Keyword heuristic: the first matching tier wins, in priority order
+@Component
+public class RuleBasedTriageEngine implements TriageEngine {
+
+    public static final String NAME = "rules";
+
+    // Keyword tiers in priority order, compiled once into a single automaton each
+    private static final Severity[] SEVERITY_TIERS = {Severity.HIGH, Severity.MEDIUM};
+    private static final KeywordMatcher SEVERITY_MATCHER = KeywordMatcher.compile(
+            new String[]{"down", "outage", "critical", "emergency", "production"},
+            new String[]{"slow", "performance", "timeout", "error"});
+
+    private static final Category[] CATEGORY_TIERS = {Category.DATABASE, Category.NETWORK, Category.INFRASTRUCTURE};
+    private static final KeywordMatcher CATEGORY_MATCHER = KeywordMatcher.compile(
+            new String[]{"database", "db", "sql"},
+            new String[]{"network", "connectivity", "internet"},
+            new String[]{"server", "cpu", "memory", "disk"});
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public TriageResult classify(String title, String description, String affectedService) {
+        return new TriageResult(determineSeverity(title, description), determineCategory(description, affectedService));
+    }
+
+    private Severity determineSeverity(String title, String description) {
+        int tier = SEVERITY_MATCHER.firstMatch(description, title);
+        return tier < 0 ? Severity.LOW : SEVERITY_TIERS[tier];
+    }
+
+    private Category determineCategory(String description, String affectedService) {
+        int tier = CATEGORY_MATCHER.firstMatch(description, affectedService);
+        return tier < 0 ? Category.APPLICATION : CATEGORY_TIERS[tier];
+    }
+}
@@ -0,0 +1,153 @@
+package com.incident.triage.engine;
+
+import java.util.Arrays;
+
+// Text normalization shared by the inference cache key and the model features, so two
+// alerts with the same key always get the same classification. Normalization folds case,
+// collapses whitespace and turns digit runs into '#', so flapping alerts that differ
+// only in counters or timestamps share a key.
+public final class TextFeatures {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final char DIGITS = '#';
+    private static final char FIELD_SEPARATOR = '\u001F';
+
+    private TextFeatures() {
+    }
+
+    public static long contentHash(String title, String description, String affectedService) {
+        long hash = FNV_OFFSET;
+        hash = hashNormalized(hash, title);
+        hash = mix(hash, FIELD_SEPARATOR);
+        hash = hashNormalized(hash, description);
+        hash = mix(hash, FIELD_SEPARATOR);
+        return hashNormalized(hash, affectedService);
+    }
+
+    // Hashed unigram and bigram feature indices of all three fields; dimensions must be a power of two
+    static FeatureVector extract(String title, String description, String affectedService, int dimensions) {
+        FeatureVector features = new FeatureVector();
+        int mask = dimensions - 1;
+        TokenSink sink = hash -> features.add((int) hash & mask);
+        addTokens(title, sink);
+        addTokens(description, sink);
+        addTokens(affectedService, sink);
+        return features;
+    }
+
+    // 64-bit SimHash of the n-gram features: near-identical texts differ in only a few bits
+    public static long simHash(String title, String description) {
+        int[] weights = new int[Long.SIZE];
+        TokenSink sink = hash -> {
+            for (int bit = 0; bit < Long.SIZE; bit++) {
+                weights[bit] += ((hash >>> bit) & 1L) == 0L ? -1 : 1;
+            }
+        };
+        addTokens(title, sink);
+        addTokens(description, sink);
+
+        long signature = 0L;
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            if (weights[bit] > 0) {
+                signature |= 1L << bit;
+            }
+        }
+        return signature;
+    }
+
+    private static void addTokens(String text, TokenSink sink) {
+        if (text == null) {
+            return;
+        }
+        long previous = 0L;
+        long token = FNV_OFFSET;
+        boolean inToken = false;
+        boolean lastWasDigit = false;
+        for (int i = 0, length = text.length(); i <= length; i++) {
+            char c = i < length ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                boolean digit = Character.isDigit(c);
+                if (!(digit && lastWasDigit)) {
+                    token = mix(token, digit ? DIGITS : Character.toLowerCase(c));
+                }
+                lastWasDigit = digit;
+                inToken = true;
+            } else if (inToken) {
+                sink.accept(finish(token));
+                if (previous != 0L) {
+                    sink.accept(finish(previous * 31 + token));
+                }
+                previous = token;
+                token = FNV_OFFSET;
+                inToken = false;
+                lastWasDigit = false;
+            }
+        }
+    }
+
+    private static long hashNormalized(long hash, String text) {
+        if (text == null) {
+            return hash;
+        }
+        boolean emitted = false;
+        boolean pendingSpace = false;
+        boolean lastWasDigit = false;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = emitted;
+                lastWasDigit = false;
+                continue;
+            }
+            if (pendingSpace) {
+                hash = mix(hash, ' ');
+                pendingSpace = false;
+            }
+            boolean digit = Character.isDigit(c);
+            if (!(digit && lastWasDigit)) {
+                hash = mix(hash, digit ? DIGITS : Character.toLowerCase(c));
+            }
+            lastWasDigit = digit;
+            emitted = true;
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, char c) {
+        return (hash ^ c) * FNV_PRIME;
+    }
+
+    // Murmur3 finalizer spreads FNV's weak low bits before masking
+    private static long finish(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    @FunctionalInterface
+    private interface TokenSink {
+        void accept(long hash);
+    }
+
+    static final class FeatureVector {
+        private int[] indices = new int[64];
+        private int size;
+
+        void add(int index) {
+            if (size == indices.length) {
+                indices = Arrays.copyOf(indices, size * 2);
+            }
+            indices[size++] = index;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int get(int i) {
+            return indices[i];
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.incident.triage.engine;
+
+// Classifies incident text into a severity and a category
+public interface TriageEngine {
+
+    // Value of the triage.engine property that selects this engine
+    String name();
+
+    TriageResult classify(String title, String description, String affectedService);
+}
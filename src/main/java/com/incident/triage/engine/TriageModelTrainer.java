@@ -0,0 +1,89 @@
+package com.incident.triage.engine;
+
+import com.incident.triage.model.Category;
+import com.incident.triage.model.Incident;
+import com.incident.triage.model.Severity;
+import com.incident.triage.repository.IncidentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Trains the naive-Bayes model from the severities and categories of stored incidents
+@Component
+public class TriageModelTrainer {
+
+    // Label index == enum ordinal
+    private static final List<String> SEVERITIES = Arrays.stream(Severity.values()).map(Enum::name).toList();
+    private static final List<String> CATEGORIES = Arrays.stream(Category.values()).map(Enum::name).toList();
+
+    private final IncidentRepository incidentRepository;
+    private final EntityManager entityManager;
+    private final int dimensions;
+    private final double alpha;
+
+    public TriageModelTrainer(IncidentRepository incidentRepository, EntityManager entityManager,
+                              @Value("${triage.model.dimensions:262144}") int dimensions,
+                              @Value("${triage.model.smoothing:1.0}") double alpha) {
+        this.incidentRepository = incidentRepository;
+        this.entityManager = entityManager;
+        this.dimensions = dimensions;
+        this.alpha = alpha;
+    }
+
+    @Transactional
+    public NaiveBayesModel trainFromStoredIncidents() {
+        long[] severityDocuments = new long[SEVERITIES.size()];
+        long[] severityCounts = new long[SEVERITIES.size() * dimensions];
+        long[] categoryDocuments = new long[CATEGORIES.size()];
+        long[] categoryCounts = new long[CATEGORIES.size() * dimensions];
+
+        try (Stream<Incident> incidents = incidentRepository.streamAll()) {
+            incidents.forEach(incident -> {
+                TextFeatures.FeatureVector features = TextFeatures.extract(
+                        incident.getTitle(), incident.getDescription(), incident.getAffectedService(), dimensions);
+                count(labelOf(incident.getAiSeverity()), features, severityDocuments, severityCounts);
+                count(labelOf(incident.getAiCategory()), features, categoryDocuments, categoryCounts);
+                entityManager.detach(incident);
+            });
+        }
+
+        return new NaiveBayesModel(dimensions,
+                NaiveBayesModel.Classifier.fromCounts(SEVERITIES, severityDocuments, severityCounts, dimensions, alpha),
+                NaiveBayesModel.Classifier.fromCounts(CATEGORIES, categoryDocuments, categoryCounts, dimensions, alpha));
+    }
+
+    public void writeModel(NaiveBayesModel model, Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            model.writeTo(out);
+        }
+    }
+
+    private static int labelOf(Enum<?> value) {
+        return value == null ? -1 : value.ordinal();
+    }
+
+    private void count(int label, TextFeatures.FeatureVector features, long[] documents, long[] counts) {
+        if (label < 0) {
+            return;
+        }
+        documents[label]++;
+        int offset = label * dimensions;
+        for (int i = 0; i < features.size(); i++) {
+            counts[offset + features.get(i)]++;
+        }
+    }
+}
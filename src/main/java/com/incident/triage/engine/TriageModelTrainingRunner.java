@@ -0,0 +1,40 @@
+package com.incident.triage.engine;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+// Offline training: run with --spring.profiles.active=train-model, writes triage.model.path and exits
+@Component
+@Profile("train-model")
+public class TriageModelTrainingRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(TriageModelTrainingRunner.class);
+
+    private final TriageModelTrainer trainer;
+    private final ConfigurableApplicationContext context;
+    private final Path modelPath;
+
+    public TriageModelTrainingRunner(TriageModelTrainer trainer, ConfigurableApplicationContext context,
+                                     @Value("${triage.model.path}") Path modelPath) {
+        this.trainer = trainer;
+        this.context = context;
+        this.modelPath = modelPath;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        NaiveBayesModel model = trainer.trainFromStoredIncidents();
+        trainer.writeModel(model, modelPath);
+        log.info("Wrote triage model to {}", modelPath.toAbsolutePath());
+        System.exit(SpringApplication.exit(context));
+    }
+}
@@ -0,0 +1,7 @@
+package com.incident.triage.engine;
+
+import com.incident.triage.model.Category;
+import com.incident.triage.model.Severity;
+
+public record TriageResult(Severity severity, Category category) {
+}
@@ -0,0 +1,211 @@
+package com.incident.triage.escalation;
+
+import com.incident.triage.cluster.SnowflakeIds;
+import com.incident.triage.event.IncidentAcknowledgedEvent;
+import com.incident.triage.event.IncidentCreatedEvent;
+import com.incident.triage.event.IncidentEscalatedEvent;
+import com.incident.triage.model.Incident;
+import com.incident.triage.model.Severity;
+import com.incident.triage.repository.IncidentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+// Enforces the response deadline behind each severity's suggested action: every triaged
+// incident gets a timer in a TimingWheel, an acknowledgement cancels it, and an expired one
+// sets escalatedAt and publishes an IncidentEscalatedEvent. Pending timers are rebuilt from
+// the incidents table on startup; deadlines that passed while the node was down fire on the
+// first tick.
+@Component
+public class EscalationScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(EscalationScheduler.class);
+
+    private final IncidentRepository incidentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final boolean enabled;
+    private final boolean clustered;
+    private final int nodeId;
+    private final Duration[] deadlines = new Duration[Severity.values().length];
+    private final Counter[] escalated = new Counter[Severity.values().length];
+    private final ReentrantLock lock = new ReentrantLock();
+    private final TimingWheel<Long> wheel;
+    private final Map<Long, TimingWheel.Timer<Long>> timers = new HashMap<>();
+    private volatile int pending;
+
+    public EscalationScheduler(IncidentRepository incidentRepository,
+                               ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry registry,
+                               @Value("${incident.escalation.enabled:true}") boolean enabled,
+                               @Value("${incident.escalation.tick-ms:1000}") long tickMillis,
+                               @Value("${incident.escalation.wheel-size:512}") int wheelSize,
+                               @Value("${incident.escalation.deadline.high:15m}") Duration highDeadline,
+                               @Value("${incident.escalation.deadline.medium:2h}") Duration mediumDeadline,
+                               @Value("${incident.escalation.deadline.low:1d}") Duration lowDeadline,
+                               @Value("${incident.cluster.enabled:false}") boolean clustered,
+                               @Value("${incident.cluster.node-id:0}") int nodeId) {
+        this.incidentRepository = incidentRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.enabled = enabled;
+        this.clustered = clustered;
+        this.nodeId = nodeId;
+        this.wheel = new TimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+        deadlines[Severity.HIGH.ordinal()] = highDeadline;
+        deadlines[Severity.MEDIUM.ordinal()] = mediumDeadline;
+        deadlines[Severity.LOW.ordinal()] = lowDeadline;
+        for (Severity severity : Severity.values()) {
+            escalated[severity.ordinal()] = Counter.builder("incident.escalated")
+                    .description("Incidents not acknowledged within their severity's deadline")
+                    .tag("severity", severity.name())
+                    .register(registry);
+        }
+        Gauge.builder("incident.escalation.pending", this, scheduler -> scheduler.pending)
+                .description("Escalation timers waiting to fire")
+                .register(registry);
+    }
+
+    // In a cluster each node owns the timers of the incidents it created. Only incidents young
+    // enough for some deadline to be running are rebuilt: older unacknowledged rows predate
+    // escalation (or were left alone long ago) and would otherwise all escalate on the first tick.
+    @PostConstruct
+    void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        Duration longest = Arrays.stream(deadlines).max(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime since = LocalDateTime.now().minus(longest);
+        readOnlyTransactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = incidentRepository.streamPendingEscalations(since)) {
+                rows.forEach(row -> {
+                    long id = (Long) row[0];
+                    if (!clustered || SnowflakeIds.nodeOf(id) == nodeId) {
+                        schedule(id, (Severity) row[1], (LocalDateTime) row[2]);
+                    }
+                });
+            }
+        });
+        log.info("Rebuilt {} escalation timers", pending);
+    }
+
+    public LocalDateTime deadlineFor(Severity severity, LocalDateTime createdAt) {
+        return createdAt.plus(deadlines[severity.ordinal()]);
+    }
+
+    public void schedule(long incidentId, Severity severity, LocalDateTime createdAt) {
+        if (!enabled || severity == null) {
+            return;
+        }
+        long deadlineMillis = deadlineFor(severity, createdAt).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        lock.lock();
+        try {
+            TimingWheel.Timer<Long> previous = timers.put(incidentId, wheel.schedule(incidentId, deadlineMillis));
+            if (previous != null) {
+                wheel.cancel(previous);
+            }
+            pending = wheel.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void cancel(long incidentId) {
+        lock.lock();
+        try {
+            TimingWheel.Timer<Long> timer = timers.remove(incidentId);
+            if (timer != null) {
+                wheel.cancel(timer);
+                pending = wheel.size();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIncidentCreated(IncidentCreatedEvent event) {
+        // The creating node owns the timer
+        if (!event.remote()) {
+            Incident incident = event.incident();
+            schedule(incident.getId(), incident.getAiSeverity(), incident.getCreatedAt());
+        }
+    }
+
+    // After commit, so a rolled-back acknowledgement leaves the timer running
+    @TransactionalEventListener
+    public void onIncidentAcknowledged(IncidentAcknowledgedEvent event) {
+        cancel(event.incident().getId());
+    }
+
+    @Scheduled(fixedDelayString = "${incident.escalation.tick-ms:1000}")
+    public void tick() {
+        if (!enabled) {
+            return;
+        }
+        List<Long> due = new ArrayList<>();
+        lock.lock();
+        try {
+            wheel.advance(System.currentTimeMillis(), incidentId -> {
+                timers.remove(incidentId);
+                due.add(incidentId);
+            });
+            pending = wheel.size();
+        } finally {
+            lock.unlock();
+        }
+        // Escalate outside the lock, so creates and acknowledgements never wait on the database
+        for (Long incidentId : due) {
+            try {
+                escalate(incidentId);
+            } catch (RuntimeException e) {
+                log.error("Failed to escalate incident {}", incidentId, e);
+            }
+        }
+    }
+
+    // The row is re-checked under a lock, so an acknowledgement racing the timer, or on another node, wins
+    private void escalate(long incidentId) {
+        Incident escalatedIncident = transactionTemplate.execute(status -> {
+            Incident incident = incidentRepository.findByIdForUpdate(incidentId).orElse(null);
+            if (incident == null || incident.getAcknowledgedAt() != null || incident.getEscalatedAt() != null) {
+                return null;
+            }
+            incident.setEscalatedAt(LocalDateTime.now());
+            eventPublisher.publishEvent(new IncidentEscalatedEvent(incident,
+                    deadlineFor(incident.getAiSeverity(), incident.getCreatedAt())));
+            return incident;
+        });
+        if (escalatedIncident != null) {
+            escalated[escalatedIncident.getAiSeverity().ordinal()].increment();
+            log.warn("Escalating incident {} ({}): not acknowledged within {}", incidentId,
+                    escalatedIncident.getAiSeverity(), deadlines[escalatedIncident.getAiSeverity().ordinal()]);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.incident.triage.escalation;
+
+import java.util.function.Consumer;
+
+// Hierarchical timing wheel: LEVELS wheels of wheelSize slots, level n spanning wheelSize^(n+1)
+// ticks. A timer goes into the lowest level whose span covers its delay and is cascaded one
+// level down when its slot comes round, so scheduling and cancelling are O(1) and a tick only
+// touches the slots it passes. Slots are intrusive doubly-linked lists. Not thread-safe.
+public final class TimingWheel<T> {
+
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+    private final long originMillis;
+    private final int bits;
+    private final int mask;
+    private final Slot<T>[][] slots;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int wheelSize, long originMillis) {
+        if (tickMillis <= 0 || wheelSize < 2 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("tick must be positive and wheel size a power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.originMillis = originMillis;
+        this.bits = Integer.numberOfTrailingZeros(wheelSize);
+        this.mask = wheelSize - 1;
+        this.slots = new Slot[LEVELS][wheelSize];
+        for (Slot<T>[] level : slots) {
+            for (int i = 0; i < level.length; i++) {
+                level[i] = new Slot<>();
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Deadlines already passed fire on the next advance
+    public Timer<T> schedule(T payload, long deadlineMillis) {
+        long deadlineTick = Math.floorDiv(deadlineMillis - originMillis + tickMillis - 1, tickMillis);
+        Timer<T> timer = new Timer<>(payload, Math.max(deadlineTick, currentTick + 1));
+        place(timer);
+        size++;
+        return timer;
+    }
+
+    public boolean cancel(Timer<T> timer) {
+        if (timer.slot == null) {
+            return false;
+        }
+        timer.unlink();
+        size--;
+        return true;
+    }
+
+    // Moves the wheel up to nowMillis, handing every expired payload to action in deadline order
+    public void advance(long nowMillis, Consumer<T> action) {
+        long targetTick = Math.floorDiv(nowMillis - originMillis, tickMillis);
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+            Slot<T> due = slots[0][(int) (currentTick & mask)];
+            Timer<T> timer;
+            while ((timer = due.first()) != null) {
+                timer.unlink();
+                size--;
+                action.accept(timer.payload);
+            }
+        }
+    }
+
+    // Whenever the lower levels wrap, the next slot of the level above is redistributed
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            long shift = (long) bits * level;
+            if ((currentTick & ((1L << shift) - 1)) != 0) {
+                return;
+            }
+            Slot<T> slot = slots[level][(int) ((currentTick >>> shift) & mask)];
+            Timer<T> timer;
+            while ((timer = slot.first()) != null) {
+                timer.unlink();
+                place(timer);
+            }
+        }
+    }
+
+    private void place(Timer<T> timer) {
+        long delay = timer.deadlineTick - currentTick;
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = bits * (level + 1);
+            if (delay < (1L << shift) || level == LEVELS - 1) {
+                // Beyond the top level's span the timer parks in its last slot and is placed again from there
+                long tick = delay < (1L << shift) ? timer.deadlineTick : currentTick + (1L << shift) - 1;
+                slots[level][(int) ((tick >>> (bits * level)) & mask)].add(timer);
+                return;
+            }
+        }
+    }
+
+    public static final class Timer<T> {
+        final T payload;
+        final long deadlineTick;
+        Slot<T> slot;
+        Timer<T> prev;
+        Timer<T> next;
+
+        Timer(T payload, long deadlineTick) {
+            this.payload = payload;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T payload() {
+            return payload;
+        }
+
+        void unlink() {
+            if (prev == null) {
+                slot.head = next;
+            } else {
+                prev.next = next;
+            }
+            if (next == null) {
+                slot.tail = prev;
+            } else {
+                next.prev = prev;
+            }
+            slot = null;
+            prev = null;
+            next = null;
+        }
+    }
+
+    private static final class Slot<T> {
+        Timer<T> head;
+        Timer<T> tail;
+
+        Timer<T> first() {
+            return head;
+        }
+
+        void add(Timer<T> timer) {
+            timer.slot = this;
+            timer.prev = tail;
+            if (tail == null) {
+                head = timer;
+            } else {
+                tail.next = timer;
+            }
+            tail = timer;
+        }
+    }
+}
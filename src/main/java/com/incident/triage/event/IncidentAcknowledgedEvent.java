@@ -0,0 +1,8 @@
+package com.incident.triage.event;
+
+import com.incident.triage.model.Incident;
+
+// Published by IncidentService when an incident is first acknowledged; listeners run after
+// acknowledgedAt is committed
+public record IncidentAcknowledgedEvent(Incident incident) {
+}
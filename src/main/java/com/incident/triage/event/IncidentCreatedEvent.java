@@ -0,0 +1,12 @@
+package com.incident.triage.event;
+
+import com.incident.triage.model.Incident;
+
+// Published by IncidentService for every persisted incident; listeners run after commit.
+// remote marks incidents created by another cluster node, replayed by ClusterChangeFeed.
+public record IncidentCreatedEvent(Incident incident, boolean remote) {
+
+    public IncidentCreatedEvent(Incident incident) {
+        this(incident, false);
+    }
+}
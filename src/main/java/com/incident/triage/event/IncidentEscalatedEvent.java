@@ -0,0 +1,10 @@
+package com.incident.triage.event;
+
+import com.incident.triage.model.Incident;
+
+import java.time.LocalDateTime;
+
+// Published by EscalationScheduler when an incident's response deadline passed without an
+// acknowledgement; listeners run after escalatedAt is committed
+public record IncidentEscalatedEvent(Incident incident, LocalDateTime deadline) {
+}
@@ -0,0 +1,8 @@
+package com.incident.triage.event;
+
+import com.incident.triage.model.Incident;
+
+// Published by IncidentService when a near-duplicate is folded into an existing incident;
+// listeners run after the new occurrence count is committed
+public record IncidentFoldedEvent(Incident incident) {
+}
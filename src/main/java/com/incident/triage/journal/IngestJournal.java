@@ -0,0 +1,322 @@
+package com.incident.triage.journal;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.incident.triage.dto.IncidentRequest;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+// Append-only write-ahead log in front of async ingest. An incident is acknowledged once its
+// record is on disk; the database is loaded from the queue afterwards, and whatever was not
+// applied before a crash is replayed on the next start.
+//
+// Group commit: the first appender to find no flush in progress forces everything written so
+// far and wakes the others, so concurrent appends share one fsync.
+//
+// A failed fsync closes the journal: every caller waiting on it gets the error, later appends
+// are refused until a restart, and the records that were never acknowledged are erased and
+// counted as applied, so they are not replayed and do not hold back the checkpoint.
+@Component
+@ConditionalOnProperty(prefix = "incident.ingest", name = {"async.enabled", "journal.enabled"}, havingValue = "true")
+public class IngestJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestJournal.class);
+    private static final String CHECKPOINT = "checkpoint";
+    private static final String DEAD_LETTER = "dead-letter.ndjson";
+
+    private final Path directory;
+    private final int segmentSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushed = lock.newCondition();
+    private final Deque<JournalSegment> segments = new ArrayDeque<>();   // oldest first, last is active
+    private JournalSegment active;
+    private long nextSequence;
+    private long writtenSequence;
+    private long durableSequence;
+    private boolean flushing;
+    private IOException failure;
+
+    private final ReentrantLock appliedLock = new ReentrantLock();
+    private final TreeSet<Long> appliedAhead = new TreeSet<>();
+    private long appliedUpTo;
+    private long checkpointed;
+
+    private final List<JournalEntry> unapplied = new ArrayList<>();
+    private final ReentrantLock deadLetterLock = new ReentrantLock();
+
+    public IngestJournal(@Value("${incident.ingest.journal.dir:data/journal}") Path directory,
+                         @Value("${incident.ingest.journal.segment-size:64MB}") DataSize segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = Math.toIntExact(segmentSize.toBytes());
+        recover();
+    }
+
+    // Entries that were acknowledged but not applied before the last shutdown, in order.
+    // Handed out once; the caller must markApplied each of them after loading it.
+    public List<JournalEntry> takeUnapplied() {
+        lock.lock();
+        try {
+            List<JournalEntry> entries = new ArrayList<>(unapplied);
+            unapplied.clear();
+            return entries;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Returns the record's sequence once it is durable
+    public long append(String ticket, IncidentRequest request) throws IOException {
+        byte[] payload = JournalSegment.encode(ticket, request);
+        if (JournalSegment.HEADER_BYTES + payload.length > segmentSize) {
+            throw new IOException("Incident of " + payload.length + " bytes exceeds the journal segment size");
+        }
+
+        lock.lock();
+        try {
+            checkOpen();
+            if (!active.hasRoom(payload.length)) {
+                rotate();
+            }
+            long sequence = nextSequence++;
+            active.append(sequence, payload);
+            writtenSequence = sequence;
+
+            while (durableSequence < sequence) {
+                checkOpen();
+                if (flushing) {
+                    flushed.awaitUninterruptibly();
+                    continue;
+                }
+                flushing = true;
+                JournalSegment segment = active;
+                int from = segment.flushedPosition();
+                int to = segment.position();
+                long upTo = writtenSequence;
+                boolean forced = false;
+                IOException error = null;
+                lock.unlock();
+                try {
+                    segment.force(from, to);
+                    forced = true;
+                } catch (IOException e) {
+                    error = e;
+                } finally {
+                    lock.lock();
+                    flushing = false;
+                    if (forced) {
+                        segment.markFlushed(to);
+                        durableSequence = Math.max(durableSequence, upTo);
+                    } else if (error != null) {
+                        fail(error);
+                    }
+                    flushed.signalAll();
+                }
+                if (error != null) {
+                    throw error;
+                }
+            }
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Records may be applied out of order; the checkpoint only moves past a contiguous prefix
+    public void markApplied(long sequence) {
+        appliedLock.lock();
+        try {
+            if (sequence <= appliedUpTo) {
+                return;
+            }
+            appliedAhead.add(sequence);
+            while (!appliedAhead.isEmpty() && appliedAhead.first() == appliedUpTo + 1) {
+                appliedAhead.pollFirst();
+                appliedUpTo++;
+            }
+        } finally {
+            appliedLock.unlock();
+        }
+    }
+
+    // Incidents the applier gave up on, one JSON object per line in dead-letter.ndjson for an
+    // operator to inspect and resubmit. Durable before it returns, so the record can then be
+    // marked applied.
+    public void deadLetter(long sequence, String ticket, IncidentRequest request, Throwable cause) throws IOException {
+        String line = "{\"sequence\":" + sequence
+                + ",\"ticket\":" + quote(ticket)
+                + ",\"title\":" + quote(request.getTitle())
+                + ",\"description\":" + quote(request.getDescription())
+                + ",\"affectedService\":" + quote(request.getAffectedService())
+                + ",\"error\":" + quote(String.valueOf(cause)) + "}\n";
+        deadLetterLock.lock();
+        try (FileChannel channel = FileChannel.open(directory.resolve(DEAD_LETTER),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer bytes = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(true);
+        } finally {
+            deadLetterLock.unlock();
+        }
+    }
+
+    // Persists the applied watermark, then drops segments that hold only applied records
+    @Scheduled(fixedDelayString = "${incident.ingest.journal.checkpoint-interval-ms:1000}")
+    public void checkpoint() throws IOException {
+        long watermark;
+        appliedLock.lock();
+        try {
+            watermark = appliedUpTo;
+        } finally {
+            appliedLock.unlock();
+        }
+        if (watermark == checkpointed) {
+            return;
+        }
+        writeCheckpoint(watermark);
+        checkpointed = watermark;
+
+        lock.lock();
+        try {
+            while (segments.size() > 1 && segments.peekFirst().lastSequence() <= watermark) {
+                segments.pollFirst().delete();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        checkpoint();
+        lock.lock();
+        try {
+            for (JournalSegment segment : segments) {
+                segment.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recover() throws IOException {
+        Files.createDirectories(directory);
+        appliedUpTo = readCheckpoint();
+        checkpointed = appliedUpTo;
+
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(JournalSegment::isSegment)
+                    .sorted(Comparator.comparingLong(JournalSegment::parseFirstSequence))
+                    .toList();
+        }
+
+        long lastSequence = appliedUpTo;
+        for (Path file : files) {
+            JournalSegment segment = JournalSegment.open(file, entry -> {
+                if (entry.sequence() > appliedUpTo) {
+                    unapplied.add(entry);
+                }
+            });
+            lastSequence = Math.max(lastSequence, segment.lastSequence());
+            // An empty segment is the active one of a run that appended nothing; the new active
+            // segment would start at the same sequence and reuse its name
+            if (segment.lastSequence() <= appliedUpTo || segment.lastSequence() < segment.firstSequence()) {
+                segment.delete();
+            } else {
+                segments.addLast(segment);
+            }
+        }
+        if (!unapplied.isEmpty()) {
+            log.info("Ingest journal has {} unapplied incidents to replay", unapplied.size());
+        }
+
+        // Never append after a possibly torn tail: new records always start a fresh segment
+        nextSequence = lastSequence + 1;
+        writtenSequence = lastSequence;
+        durableSequence = lastSequence;
+        active = JournalSegment.create(directory, nextSequence, segmentSize);
+        segments.addLast(active);
+    }
+
+    private void rotate() throws IOException {
+        JournalSegment full = active;
+        try {
+            full.force(full.flushedPosition(), full.position());
+        } catch (IOException e) {
+            fail(e);
+            throw e;
+        }
+        full.markFlushed(full.position());
+        durableSequence = Math.max(durableSequence, full.lastSequence());
+        active = JournalSegment.create(directory, nextSequence, segmentSize);
+        segments.addLast(active);
+    }
+
+    private void checkOpen() throws IOException {
+        if (failure != null) {
+            throw new IOException("Ingest journal is closed after a failed write", failure);
+        }
+    }
+
+    // Called with the lock held
+    private void fail(IOException cause) {
+        if (failure != null) {
+            return;
+        }
+        failure = cause;
+        log.error("Ingest journal write failed; refusing appends until restart", cause);
+        active.erase(active.flushedPosition());
+        for (long sequence = durableSequence + 1; sequence <= writtenSequence; sequence++) {
+            markApplied(sequence);
+        }
+    }
+
+    private long readCheckpoint() throws IOException {
+        Path path = directory.resolve(CHECKPOINT);
+        if (!Files.exists(path)) {
+            return 0L;
+        }
+        return ByteBuffer.wrap(Files.readAllBytes(path)).getLong();
+    }
+
+    private void writeCheckpoint(long watermark) throws IOException {
+        Path temp = directory.resolve(CHECKPOINT + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, watermark));
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(CHECKPOINT), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String quote(String value) {
+        return value == null ? "null" : "\"" + new String(JsonStringEncoder.getInstance().quoteAsString(value)) + "\"";
+    }
+}
@@ -0,0 +1,7 @@
+package com.incident.triage.journal;
+
+import com.incident.triage.dto.IncidentRequest;
+
+// An accepted incident as recorded in the ingest journal
+public record JournalEntry(long sequence, String ticket, IncidentRequest request) {
+}
@@ -0,0 +1,191 @@
+package com.incident.triage.journal;
+
+import com.incident.triage.dto.IncidentRequest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+// One preallocated, memory-mapped journal file. Records are
+//   payloadLength, crc32c(sequence + payload), sequence, payload
+// and the zero-filled tail marks the end; replay also stops at the first record whose
+// checksum does not match, which is where a crash tore the last write.
+final class JournalSegment {
+
+    static final int HEADER_BYTES = Integer.BYTES + Integer.BYTES + Long.BYTES;
+    private static final String PREFIX = "journal-";
+    private static final String SUFFIX = ".seg";
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final long firstSequence;
+    private long lastSequence;
+    private int flushedPosition;
+
+    private JournalSegment(Path path, FileChannel channel, MappedByteBuffer buffer, long firstSequence) {
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.firstSequence = firstSequence;
+        this.lastSequence = firstSequence - 1;
+    }
+
+    static JournalSegment create(Path directory, long firstSequence, int size) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", PREFIX, firstSequence, SUFFIX));
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        JournalSegment segment = new JournalSegment(path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size),
+                firstSequence);
+        // Make the new file itself survive a crash before any record relies on it
+        channel.force(true);
+        return segment;
+    }
+
+    // Scans an existing segment read-only, passing every intact record to action
+    static JournalSegment open(Path path, Consumer<JournalEntry> action) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        JournalSegment segment = new JournalSegment(path, channel, buffer, parseFirstSequence(path));
+        while (buffer.remaining() >= HEADER_BYTES) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            long sequence = buffer.getLong();
+            if (length <= 0 || length > buffer.remaining() || sequence <= segment.lastSequence) {
+                break;
+            }
+            ByteBuffer payload = buffer.slice(buffer.position(), length);
+            if (checksum(sequence, payload) != checksum) {
+                break;
+            }
+            buffer.position(start + HEADER_BYTES + length);
+            segment.lastSequence = sequence;
+            action.accept(decode(sequence, payload));
+        }
+        return segment;
+    }
+
+    static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+    }
+
+    static long parseFirstSequence(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    boolean hasRoom(int payloadLength) {
+        return buffer.remaining() >= HEADER_BYTES + payloadLength;
+    }
+
+    void append(long sequence, byte[] payload) {
+        buffer.putInt(payload.length);
+        buffer.putInt(checksum(sequence, ByteBuffer.wrap(payload)));
+        buffer.putLong(sequence);
+        buffer.put(payload);
+        lastSequence = sequence;
+    }
+
+    int position() {
+        return buffer.position();
+    }
+
+    int flushedPosition() {
+        return flushedPosition;
+    }
+
+    // Forces [from, to) to disk; called without the journal lock held
+    void force(int from, int to) throws IOException {
+        try {
+            buffer.force(from, to - from);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Zeroes records that were written but never made durable, so a later writeback of the
+    // mapping cannot bring them back on replay; best effort, the disk may be failing
+    void erase(int from) {
+        for (int i = from; i < buffer.position(); i++) {
+            buffer.put(i, (byte) 0);
+        }
+        buffer.position(from);
+    }
+
+    void markFlushed(int position) {
+        flushedPosition = Math.max(flushedPosition, position);
+    }
+
+    long firstSequence() {
+        return firstSequence;
+    }
+
+    long lastSequence() {
+        return lastSequence;
+    }
+
+    void close() throws IOException {
+        channel.close();
+    }
+
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+
+    static byte[] encode(String ticket, IncidentRequest request) {
+        UUID uuid = UUID.fromString(ticket);
+        List<byte[]> fields = List.of(
+                utf8(request.getTitle()), utf8(request.getDescription()), utf8(request.getAffectedService()));
+        int length = 2 * Long.BYTES;
+        for (byte[] field : fields) {
+            length += Integer.BYTES + field.length;
+        }
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        payload.putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+        for (byte[] field : fields) {
+            payload.putInt(field.length).put(field);
+        }
+        return payload.array();
+    }
+
+    private static JournalEntry decode(long sequence, ByteBuffer payload) throws IOException {
+        try {
+            String ticket = new UUID(payload.getLong(), payload.getLong()).toString();
+            IncidentRequest request = new IncidentRequest(readUtf8(payload), readUtf8(payload), readUtf8(payload));
+            return new JournalEntry(sequence, ticket, request);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("Corrupt journal record " + sequence, e);
+        }
+    }
+
+    private static int checksum(long sequence, ByteBuffer payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(ByteBuffer.allocate(Long.BYTES).putLong(0, sequence));
+        crc.update(payload.duplicate());
+        return (int) crc.getValue();
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String readUtf8(ByteBuffer payload) {
+        byte[] bytes = new byte[payload.getInt()];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
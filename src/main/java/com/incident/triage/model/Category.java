@@ -0,0 +1,46 @@
+package com.incident.triage.model;
+
+import java.util.Optional;
+
+// Stored as a smallint code through CategoryConverter; codes must never be reused
+public enum Category {
+    DATABASE((short) 0),
+    NETWORK((short) 1),
+    APPLICATION((short) 2),
+    INFRASTRUCTURE((short) 3);
+
+    private static final Category[] BY_CODE = new Category[values().length];
+
+    static {
+        for (Category category : values()) {
+            BY_CODE[category.code] = category;
+        }
+    }
+
+    private final short code;
+
+    Category(short code) {
+        this.code = code;
+    }
+
+    public short getCode() {
+        return code;
+    }
+
+    public static Category fromCode(short code) {
+        if (code < 0 || code >= BY_CODE.length) {
+            throw new IllegalArgumentException("Unknown category code: " + code);
+        }
+        return BY_CODE[code];
+    }
+
+    // Case-insensitive lookup for request parameters
+    public static Optional<Category> parse(String value) {
+        for (Category category : values()) {
+            if (category.name().equalsIgnoreCase(value)) {
+                return Optional.of(category);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,18 @@
+package com.incident.triage.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class CategoryConverter implements AttributeConverter<Category, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(Category category) {
+        return category == null ? null : category.getCode();
+    }
+
+    @Override
+    public Category convertToEntityAttribute(Short code) {
+        return code == null ? null : Category.fromCode(code);
+    }
+}
@@ -1,14 +1,31 @@
 package com.incident.triage.model;
 
+import com.incident.triage.cluster.SnowflakeId;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "incidents")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Incident.CACHE_REGION)
+@Table(name = "incidents", indexes = {
+        @Index(name = "idx_incidents_severity_created", columnList = "ai_severity, created_at DESC"),
+        @Index(name = "idx_incidents_category_created", columnList = "ai_category, created_at DESC"),
+        @Index(name = "idx_incidents_created", columnList = "created_at, id"),
+        @Index(name = "idx_incidents_last_seen", columnList = "last_seen_at"),
+        @Index(name = "idx_incidents_ingest_ticket", columnList = "ingest_ticket", unique = true),
+        @Index(name = "idx_incidents_outage", columnList = "outage_id, created_at"),
+        @Index(name = "idx_incidents_escalation", columnList = "escalated_at, acknowledged_at")
+})
 public class Incident {
+    // Second-level cache region, sized in application.conf
+    public static final String CACHE_REGION = "incident";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Time-ordered ids assigned in-process, unique across cluster nodes without coordination
+    @SnowflakeId
     private Long id;
 
     @Column(nullable = false)
@@ -20,22 +37,47 @@ public class Incident {
     @Column(nullable = false)
     private String affectedService;
 
-    // AI-generated fields
-    private String aiSeverity; // HIGH, MEDIUM, LOW
-    private String aiCategory; // NETWORK, DATABASE, APPLICATION, etc.
-    private String aiSuggestedAction;
+    // AI-generated fields, stored as smallint codes
+    @Column(name = "ai_severity")
+    private Severity aiSeverity;
 
-    @Column(nullable = false)
+    @Column(name = "ai_category")
+    private Category aiCategory;
+
+    @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
+    // Near-duplicates folded into this incident by the dedup index
+    @Column(nullable = false)
+    private int occurrenceCount;
+
+    private LocalDateTime lastSeenAt;
+
+    // Async ingest ticket, so a journal replay can tell which incidents were already stored
+    @Column(name = "ingest_ticket", length = 36)
+    private String ingestTicket;
+
+    // Outage the correlator grouped this incident into
+    @Column(name = "outage_id")
+    private Long outageId;
+
+    // Set when someone takes the incident, which stops its escalation timer
+    @Column(name = "acknowledged_at")
+    private LocalDateTime acknowledgedAt;
+
+    // Set when the severity's response deadline passed without an acknowledgement
+    @Column(name = "escalated_at")
+    private LocalDateTime escalatedAt;
+
     public Incident() {
         this.title = "";
         this.description = "";
         this.affectedService = "";
         this.aiSeverity = null;          // will be set later by AI
         this.aiCategory = null;          // will be set later by AI
-        this.aiSuggestedAction = null;   // will be set later by AI
         this.createdAt = LocalDateTime.now();
+        this.occurrenceCount = 1;
+        this.lastSeenAt = this.createdAt;
     }
 
 
@@ -71,28 +113,25 @@ public class Incident {
         this.affectedService = affectedService;
     }
 
-    public String getAiSeverity() {
+    public Severity getAiSeverity() {
         return aiSeverity;
     }
 
-    public void setAiSeverity(String aiSeverity) {
+    public void setAiSeverity(Severity aiSeverity) {
         this.aiSeverity = aiSeverity;
     }
 
-    public String getAiCategory() {
+    public Category getAiCategory() {
         return aiCategory;
     }
 
-    public void setAiCategory(String aiCategory) {
+    public void setAiCategory(Category aiCategory) {
         this.aiCategory = aiCategory;
     }
 
+    // Derived from severity, not a column
     public String getAiSuggestedAction() {
-        return aiSuggestedAction;
-    }
-
-    public void setAiSuggestedAction(String aiSuggestedAction) {
-        this.aiSuggestedAction = aiSuggestedAction;
+        return Severity.suggestedActionFor(aiSeverity);
     }
 
     public LocalDateTime getCreatedAt() {
@@ -103,6 +142,54 @@ public class Incident {
         this.createdAt = createdAt;
     }
 
+    public int getOccurrenceCount() {
+        return occurrenceCount;
+    }
+
+    public void setOccurrenceCount(int occurrenceCount) {
+        this.occurrenceCount = occurrenceCount;
+    }
+
+    public LocalDateTime getLastSeenAt() {
+        return lastSeenAt;
+    }
+
+    public void setLastSeenAt(LocalDateTime lastSeenAt) {
+        this.lastSeenAt = lastSeenAt;
+    }
+
+    public String getIngestTicket() {
+        return ingestTicket;
+    }
+
+    public void setIngestTicket(String ingestTicket) {
+        this.ingestTicket = ingestTicket;
+    }
+
+    public Long getOutageId() {
+        return outageId;
+    }
+
+    public void setOutageId(Long outageId) {
+        this.outageId = outageId;
+    }
+
+    public LocalDateTime getAcknowledgedAt() {
+        return acknowledgedAt;
+    }
+
+    public void setAcknowledgedAt(LocalDateTime acknowledgedAt) {
+        this.acknowledgedAt = acknowledgedAt;
+    }
+
+    public LocalDateTime getEscalatedAt() {
+        return escalatedAt;
+    }
+
+    public void setEscalatedAt(LocalDateTime escalatedAt) {
+        this.escalatedAt = escalatedAt;
+    }
+
 
     @Override
     public String toString() {
@@ -111,10 +198,16 @@ public class Incident {
                 ", title='" + title + '\'' +
                 ", description='" + description + '\'' +
                 ", affectedService='" + affectedService + '\'' +
-                ", aiSeverity='" + aiSeverity + '\'' +
-                ", aiCategory='" + aiCategory + '\'' +
-                ", aiSuggestedAction='" + aiSuggestedAction + '\'' +
+                ", aiSeverity=" + aiSeverity +
+                ", aiCategory=" + aiCategory +
+                ", aiSuggestedAction='" + getAiSuggestedAction() + '\'' +
                 ", createdAt=" + createdAt +
+                ", occurrenceCount=" + occurrenceCount +
+                ", lastSeenAt=" + lastSeenAt +
+                ", ingestTicket='" + ingestTicket + '\'' +
+                ", outageId=" + outageId +
+                ", acknowledgedAt=" + acknowledgedAt +
+                ", escalatedAt=" + escalatedAt +
                 '}';
     }
 
@@ -0,0 +1,80 @@
+package com.incident.triage.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// One committed write to an incident, for the cluster change feed. seq is handed out by
+// IncidentChangeLog just before commit under a row lock, so it follows commit order.
+@Entity
+@Table(name = "incident_changes", indexes = {
+        @Index(name = "idx_incident_changes_changed", columnList = "changed_at")
+})
+public class IncidentChange {
+    @Id
+    private Long seq;
+
+    @Column(name = "incident_id", nullable = false)
+    private Long incidentId;
+
+    @Column(name = "node_id", nullable = false)
+    private int nodeId;
+
+    // False for folds, acknowledgements and escalations
+    @Column(nullable = false)
+    private boolean created;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    public IncidentChange() {
+    }
+
+    public IncidentChange(Long seq, Long incidentId, int nodeId, boolean created, LocalDateTime changedAt) {
+        this.seq = seq;
+        this.incidentId = incidentId;
+        this.nodeId = nodeId;
+        this.created = created;
+        this.changedAt = changedAt;
+    }
+
+    public Long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(Long seq) {
+        this.seq = seq;
+    }
+
+    public Long getIncidentId() {
+        return incidentId;
+    }
+
+    public void setIncidentId(Long incidentId) {
+        this.incidentId = incidentId;
+    }
+
+    public int getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(int nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public boolean isCreated() {
+        return created;
+    }
+
+    public void setCreated(boolean created) {
+        this.created = created;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+}
@@ -0,0 +1,37 @@
+package com.incident.triage.model;
+
+import jakarta.persistence.*;
+
+// Single-row counter behind IncidentChange.seq
+@Entity
+@Table(name = "incident_change_sequence")
+public class IncidentChangeSequence {
+    public static final short ID = 1;
+
+    @Id
+    private Short id;
+
+    @Column(name = "last_seq", nullable = false)
+    private long lastSeq;
+
+    public IncidentChangeSequence() {
+        this.id = ID;
+        this.lastSeq = 0L;
+    }
+
+    public Short getId() {
+        return id;
+    }
+
+    public void setId(Short id) {
+        this.id = id;
+    }
+
+    public long getLastSeq() {
+        return lastSeq;
+    }
+
+    public void setLastSeq(long lastSeq) {
+        this.lastSeq = lastSeq;
+    }
+}
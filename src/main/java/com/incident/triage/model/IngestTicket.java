@@ -0,0 +1,56 @@
+package com.incident.triage.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// Async ingest ticket of a request that was folded into an existing incident. Inserted rows keep
+// their ticket on the incident itself; this table lets a journal replay skip folded requests too.
+@Entity
+@Table(name = "ingest_tickets", indexes = {
+        @Index(name = "idx_ingest_tickets_created", columnList = "created_at")
+})
+public class IngestTicket {
+    @Id
+    @Column(length = 36)
+    private String ticket;
+
+    @Column(name = "incident_id", nullable = false)
+    private Long incidentId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public IngestTicket() {
+    }
+
+    public IngestTicket(String ticket, Long incidentId, LocalDateTime createdAt) {
+        this.ticket = ticket;
+        this.incidentId = incidentId;
+        this.createdAt = createdAt;
+    }
+
+    public String getTicket() {
+        return ticket;
+    }
+
+    public void setTicket(String ticket) {
+        this.ticket = ticket;
+    }
+
+    public Long getIncidentId() {
+        return incidentId;
+    }
+
+    public void setIncidentId(Long incidentId) {
+        this.incidentId = incidentId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,111 @@
+package com.incident.triage.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// A group of related incidents: same affectedService and category, each arriving within the
+// correlation window of the previous one. Ids are assigned by OutageCorrelator.
+@Entity
+@Table(name = "outages", indexes = {
+        @Index(name = "idx_outages_last_incident", columnList = "last_incident_at"),
+        @Index(name = "idx_outages_service_last_incident", columnList = "affected_service, last_incident_at")
+})
+public class Outage {
+
+    @Id
+    private Long id;
+
+    @Column(name = "affected_service", nullable = false)
+    private String affectedService;
+
+    @Column(name = "ai_category")
+    private Category category;
+
+    // Most severe member so far
+    @Column(name = "ai_severity")
+    private Severity severity;
+
+    // Title of the first member
+    @Column(nullable = false)
+    private String title;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "last_incident_at", nullable = false)
+    private LocalDateTime lastIncidentAt;
+
+    @Column(nullable = false)
+    private int memberCount;
+
+    public Outage() {
+        this.affectedService = "";
+        this.title = "";
+        this.memberCount = 0;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getAffectedService() {
+        return affectedService;
+    }
+
+    public void setAffectedService(String affectedService) {
+        this.affectedService = affectedService;
+    }
+
+    public Category getCategory() {
+        return category;
+    }
+
+    public void setCategory(Category category) {
+        this.category = category;
+    }
+
+    public Severity getSeverity() {
+        return severity;
+    }
+
+    public void setSeverity(Severity severity) {
+        this.severity = severity;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getLastIncidentAt() {
+        return lastIncidentAt;
+    }
+
+    public void setLastIncidentAt(LocalDateTime lastIncidentAt) {
+        this.lastIncidentAt = lastIncidentAt;
+    }
+
+    public int getMemberCount() {
+        return memberCount;
+    }
+
+    public void setMemberCount(int memberCount) {
+        this.memberCount = memberCount;
+    }
+}
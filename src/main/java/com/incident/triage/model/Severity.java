@@ -0,0 +1,54 @@
+package com.incident.triage.model;
+
+import java.util.Optional;
+
+// Stored as a smallint code through SeverityConverter; codes must never be reused.
+// The suggested action is a function of severity, so it is looked up on read rather than stored.
+public enum Severity {
+    HIGH((short) 0, "Immediate escalation to on-call engineer required"),
+    MEDIUM((short) 1, "Assign to appropriate team within 2 hours"),
+    LOW((short) 2, "Add to team backlog for next business day");
+
+    private static final String UNTRIAGED_ACTION = "Review and categorize manually";
+
+    private static final Severity[] BY_CODE = new Severity[values().length];
+
+    static {
+        for (Severity severity : values()) {
+            BY_CODE[severity.code] = severity;
+        }
+    }
+
+    private final short code;
+    private final String suggestedAction;
+
+    Severity(short code, String suggestedAction) {
+        this.code = code;
+        this.suggestedAction = suggestedAction;
+    }
+
+    public short getCode() {
+        return code;
+    }
+
+    public static String suggestedActionFor(Severity severity) {
+        return severity == null ? UNTRIAGED_ACTION : severity.suggestedAction;
+    }
+
+    public static Severity fromCode(short code) {
+        if (code < 0 || code >= BY_CODE.length) {
+            throw new IllegalArgumentException("Unknown severity code: " + code);
+        }
+        return BY_CODE[code];
+    }
+
+    // Case-insensitive lookup for request parameters
+    public static Optional<Severity> parse(String value) {
+        for (Severity severity : values()) {
+            if (severity.name().equalsIgnoreCase(value)) {
+                return Optional.of(severity);
+            }
+        }
+        return Optional.empty();
+    }
+}
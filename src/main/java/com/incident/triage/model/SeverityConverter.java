@@ -0,0 +1,18 @@
+package com.incident.triage.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class SeverityConverter implements AttributeConverter<Severity, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(Severity severity) {
+        return severity == null ? null : severity.getCode();
+    }
+
+    @Override
+    public Severity convertToEntityAttribute(Short code) {
+        return code == null ? null : Severity.fromCode(code);
+    }
+}
@@ -0,0 +1,40 @@
+package com.incident.triage.model;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "incident_statistics_rollup")
+public class StatisticsRollup {
+    @Id
+    @Column(length = 100)
+    private String counterKey;
+
+    @Column(nullable = false)
+    private long counterValue;
+
+    public StatisticsRollup() {
+        this.counterKey = "";
+        this.counterValue = 0L;
+    }
+
+    public StatisticsRollup(String counterKey, long counterValue) {
+        this.counterKey = counterKey;
+        this.counterValue = counterValue;
+    }
+
+    public String getCounterKey() {
+        return counterKey;
+    }
+
+    public void setCounterKey(String counterKey) {
+        this.counterKey = counterKey;
+    }
+
+    public long getCounterValue() {
+        return counterValue;
+    }
+
+    public void setCounterValue(long counterValue) {
+        this.counterValue = counterValue;
+    }
+}
@@ -0,0 +1,35 @@
+package com.incident.triage.repository;
+
+import com.incident.triage.model.IncidentChange;
+import com.incident.triage.model.IncidentChangeSequence;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface IncidentChangeRepository extends JpaRepository<IncidentChange, Long> {
+
+    List<IncidentChange> findBySeqGreaterThanOrderBySeq(long seq, Limit limit);
+
+    // Takes the counter's row lock until commit, which is what puts seq in commit order
+    @Modifying
+    @Query("update IncidentChangeSequence s set s.lastSeq = s.lastSeq + :count where s.id = "
+            + IncidentChangeSequence.ID)
+    int advanceSequence(@Param("count") long count);
+
+    @Query("select count(s) > 0 from IncidentChangeSequence s")
+    boolean existsSequence();
+
+    @Query("select s.lastSeq from IncidentChangeSequence s where s.id = " + IncidentChangeSequence.ID)
+    Long findLastSequence();
+
+    @Modifying
+    @Query("delete from IncidentChange c where c.changedAt < :cutoff")
+    int deleteChangedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,15 +1,115 @@
 package com.incident.triage.repository;
 
+import com.incident.triage.model.Category;
 import com.incident.triage.model.Incident;
+import com.incident.triage.model.Severity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface IncidentRepository extends JpaRepository<Incident, Long> {
-    List<Incident> findByAiSeverityOrderByCreatedAtDesc(String severity);
-    List<Incident> findByAiCategoryOrderByCreatedAtDesc(String category);
-    List<Incident> findByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
+public interface IncidentRepository extends JpaRepository<Incident, Long>, JpaSpecificationExecutor<Incident> {
+    // Projected reads: type is IncidentView for full rows or IncidentSummary without the description
+    <T> List<T> findProjectedBy(Class<T> type);
+    <T> List<T> findByOrderByCreatedAtDesc(Class<T> type);
+    <T> List<T> findByAiSeverityOrderByCreatedAtDesc(Severity severity, Class<T> type);
+    <T> List<T> findByAiCategoryOrderByCreatedAtDesc(Category category, Class<T> type);
+    <T> List<T> findByAiSeverityAndAiCategoryOrderByCreatedAtDesc(Severity severity, Category category, Class<T> type);
+    <T> List<T> findByCreatedAtBetween(LocalDateTime start, LocalDateTime end, Class<T> type);
+    <T> List<T> findByIdIn(Collection<Long> ids, Class<T> type);
+    <T> List<T> findByOutageIdOrderByCreatedAtDesc(Long outageId, Class<T> type);
+
+    long countByOutageId(Long outageId);
+
+    // Cursor-backed stream for startup rebuilds; must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select i from Incident i order by i.id")
+    Stream<Incident> streamAll();
+
+    // Rows above a persisted index's high-water mark, for catching it up on startup
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select i from Incident i where i.id > :afterId order by i.id")
+    Stream<Incident> streamAfter(@Param("afterId") long afterId);
+
+    // Half-open month range for the retention job; the rows stay locked until the range delete commits, so a fold
+    // or acknowledgement either lands before the row is archived or finds it gone
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select i from Incident i where i.createdAt >= :start and i.createdAt < :end order by i.createdAt, i.id")
+    Stream<Incident> streamCreatedInRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    // Rows are [createdAt, aiSeverity, aiCategory, affectedService], for rebuilding trend buckets
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select i.createdAt, i.aiSeverity, i.aiCategory, i.affectedService from Incident i where i.createdAt >= :since")
+    Stream<Object[]> streamTrendRowsSince(@Param("since") LocalDateTime since);
+
+    @Query("select i.id from Incident i where i.createdAt >= :start and i.createdAt < :end")
+    List<Long> findIdsCreatedInRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    // Rows are [id, aiSeverity, aiCategory]; normally empty for an archived month
+    @Query("select i.id, i.aiSeverity, i.aiCategory from Incident i where i.createdAt >= :start and i.createdAt < :end")
+    List<Object[]> findCountedRowsCreatedInRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Incident i where i.createdAt >= :start and i.createdAt < :end")
+    int deleteCreatedInRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    // Rows are [ingestTicket, id]
+    @Query("select i.ingestTicket, i.id from Incident i where i.ingestTicket in :tickets")
+    List<Object[]> findIdsByIngestTicket(@Param("tickets") Collection<String> tickets);
+
+    @Query("select min(i.createdAt) from Incident i")
+    Optional<LocalDateTime> findOldestCreatedAt();
+
+    // Triaged incidents still waiting on an acknowledgement, as [id, aiSeverity, createdAt]
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select i.id, i.aiSeverity, i.createdAt from Incident i where i.createdAt >= :since"
+            + " and i.escalatedAt is null and i.acknowledgedAt is null and i.aiSeverity is not null")
+    Stream<Object[]> streamPendingEscalations(@Param("since") LocalDateTime since);
+
+    // Row lock for folding a near-duplicate or changing escalation state; an entity update keeps the second-level cache
+    // entry current, where a bulk update would evict the whole incident region
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Incident i where i.id = :id")
+    Optional<Incident> findByIdForUpdate(@Param("id") Long id);
+
+    // Rows are [value, count]; afterId lets a persisted rollup be topped up with newer rows only
+    @Query("select i.aiSeverity, count(i) from Incident i where i.id > :afterId group by i.aiSeverity")
+    List<Object[]> countBySeverityAfter(@Param("afterId") long afterId);
+
+    @Query("select i.aiCategory, count(i) from Incident i where i.id > :afterId group by i.aiCategory")
+    List<Object[]> countByCategoryAfter(@Param("afterId") long afterId);
+
+    // Rows are [value, count] for ids in (afterId, upToId]
+    @Query("select i.aiSeverity, count(i) from Incident i where i.id > :afterId and i.id <= :upToId group by i.aiSeverity")
+    List<Object[]> countBySeverityBetween(@Param("afterId") long afterId, @Param("upToId") long upToId);
+
+    @Query("select i.aiCategory, count(i) from Incident i where i.id > :afterId and i.id <= :upToId group by i.aiCategory")
+    List<Object[]> countByCategoryBetween(@Param("afterId") long afterId, @Param("upToId") long upToId);
 }
@@ -0,0 +1,58 @@
+package com.incident.triage.repository;
+
+import com.incident.triage.dto.IncidentCursor;
+import com.incident.triage.model.Category;
+import com.incident.triage.model.Incident;
+import com.incident.triage.model.Severity;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+public final class IncidentSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private IncidentSpecifications() {
+    }
+
+    public static Specification<Incident> hasSeverity(Severity severity) {
+        return (root, query, cb) -> cb.equal(root.get("aiSeverity"), severity);
+    }
+
+    public static Specification<Incident> hasCategory(Category category) {
+        return (root, query, cb) -> cb.equal(root.get("aiCategory"), category);
+    }
+
+    public static Specification<Incident> affectedServiceContains(String fragment) {
+        String pattern = "%" + escapeLike(fragment.toLowerCase()) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("affectedService")), pattern, LIKE_ESCAPE);
+    }
+
+    // Keyset predicate for (createdAt, id) descending: rows older than the cursor row
+    public static Specification<Incident> olderThan(IncidentCursor cursor) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.<LocalDateTime>get("createdAt"), cursor.createdAt()),
+                cb.and(
+                        cb.equal(root.get("createdAt"), cursor.createdAt()),
+                        cb.lessThan(root.<Long>get("id"), cursor.id())));
+    }
+
+    public static Specification<Incident> createdBetween(LocalDateTime start, LocalDateTime end) {
+        return (root, query, cb) -> cb.between(root.get("createdAt"), start, end);
+    }
+
+    // Keyset predicate for (createdAt, id) ascending, used by exports: rows newer than the cursor row
+    public static Specification<Incident> newerThan(IncidentCursor cursor) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.<LocalDateTime>get("createdAt"), cursor.createdAt()),
+                cb.and(
+                        cb.equal(root.get("createdAt"), cursor.createdAt()),
+                        cb.greaterThan(root.<Long>get("id"), cursor.id())));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -0,0 +1,12 @@
+package com.incident.triage.repository;
+
+import com.incident.triage.model.Category;
+import com.incident.triage.model.Severity;
+
+import java.time.LocalDateTime;
+
+// IncidentView without the description, the widest column
+public record IncidentSummary(Long id, String title, String affectedService, Severity aiSeverity,
+                              Category aiCategory, LocalDateTime createdAt, int occurrenceCount,
+                              LocalDateTime lastSeenAt) {
+}
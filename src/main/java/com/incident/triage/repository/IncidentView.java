@@ -0,0 +1,14 @@
+package com.incident.triage.repository;
+
+import com.incident.triage.model.Category;
+import com.incident.triage.model.Severity;
+
+import java.time.LocalDateTime;
+
+// Read-only row projection for list endpoints: selected by a constructor expression,
+// so nothing is attached to the persistence context or snapshotted for dirty checking
+public record IncidentView(Long id, String title, String description, String affectedService,
+                           Severity aiSeverity, Category aiCategory, LocalDateTime createdAt,
+                           int occurrenceCount, LocalDateTime lastSeenAt, Long outageId,
+                           LocalDateTime acknowledgedAt, LocalDateTime escalatedAt) {
+}
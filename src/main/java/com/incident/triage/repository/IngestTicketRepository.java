@@ -0,0 +1,18 @@
+package com.incident.triage.repository;
+
+import com.incident.triage.model.IngestTicket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IngestTicketRepository extends JpaRepository<IngestTicket, String> {
+
+    @Modifying
+    @Query("delete from IngestTicket t where t.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,16 @@
+package com.incident.triage.repository;
+
+import com.incident.triage.model.Outage;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutageRepository extends JpaRepository<Outage, Long> {
+    List<Outage> findAllByOrderByLastIncidentAtDesc(Limit limit);
+    List<Outage> findByAffectedServiceOrderByLastIncidentAtDesc(String affectedService, Limit limit);
+    List<Outage> findByLastIncidentAtAfter(LocalDateTime time);
+}
@@ -0,0 +1,9 @@
+package com.incident.triage.repository;
+
+import com.incident.triage.model.StatisticsRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StatisticsRollupRepository extends JpaRepository<StatisticsRollup, String> {
+}
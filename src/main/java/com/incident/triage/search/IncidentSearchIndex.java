@@ -0,0 +1,249 @@
+package com.incident.triage.search;
+
+import com.incident.triage.cluster.SnowflakeIds;
+import com.incident.triage.event.IncidentCreatedEvent;
+import com.incident.triage.model.Category;
+import com.incident.triage.model.Incident;
+import com.incident.triage.model.Severity;
+import com.incident.triage.repository.IncidentRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.WildcardQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// Embedded Lucene index over incident title and description, updated after each create
+@Component
+public class IncidentSearchIndex {
+
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String DESCRIPTION = "description";
+    private static final String SEVERITY = "severity";
+    private static final String CATEGORY = "category";
+    private static final String SERVICE = "service";
+    private static final Map<String, Float> FIELD_BOOSTS = Map.of(TITLE, 2.0f, DESCRIPTION, 1.0f);
+    // Commit user data key; every row with an id at or below it is in the committed index
+    private static final String INDEXED_THROUGH = "indexed_through_id";
+
+    // A page of ranked incident ids; hasMore is true when another page exists
+    public record Hits(List<Long> ids, boolean hasMore) {
+    }
+
+    private final IncidentRepository incidentRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final String indexDir;
+    private final Duration settleTime;
+    private final Analyzer analyzer = new StandardAnalyzer();
+
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private long indexedThrough;
+
+    public IncidentSearchIndex(IncidentRepository incidentRepository, EntityManager entityManager,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${incident.search.index-dir:}") String indexDir,
+                               @Value("${incident.search.settle-time:5m}") Duration settleTime) {
+        this.incidentRepository = incidentRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.indexDir = indexDir;
+        this.settleTime = settleTime;
+    }
+
+    @PostConstruct
+    void open() throws IOException {
+        // Without an index directory the index lives on the heap, like the default in-memory database
+        directory = indexDir.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexDir));
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(writer, null);
+
+        // A persisted index can miss rows whose commit landed after its last Lucene commit, so
+        // everything above the committed high-water mark is indexed again; updates are idempotent
+        Iterable<Map.Entry<String, String>> commitData = writer.getLiveCommitData();
+        if (commitData != null) {
+            for (Map.Entry<String, String> entry : commitData) {
+                if (entry.getKey().equals(INDEXED_THROUGH)) {
+                    indexedThrough = Long.parseLong(entry.getValue());
+                }
+            }
+        }
+        catchUp(indexedThrough);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIncidentCreated(IncidentCreatedEvent event) throws IOException {
+        index(event.incident());
+    }
+
+    // Archived incidents leave the index; full-text search covers the hot table only
+    public void remove(Collection<Long> ids) throws IOException {
+        for (Long id : ids) {
+            writer.deleteDocuments(new Term(ID, String.valueOf(id)));
+        }
+    }
+
+    public Hits search(String text, Severity severity, Category category, String affectedService, int offset, int size)
+            throws IOException {
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(parse(text), BooleanClause.Occur.MUST);
+        if (severity != null) {
+            query.add(new TermQuery(new Term(SEVERITY, severity.name())), BooleanClause.Occur.FILTER);
+        }
+        if (category != null) {
+            query.add(new TermQuery(new Term(CATEGORY, category.name())), BooleanClause.Occur.FILTER);
+        }
+        if (affectedService != null) {
+            query.add(new WildcardQuery(new Term(SERVICE, "*" + escapeWildcard(affectedService.toLowerCase()) + "*")),
+                    BooleanClause.Occur.FILTER);
+        }
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs top = searcher.search(query.build(), offset + size + 1);
+            List<Long> ids = new ArrayList<>(size);
+            ScoreDoc[] scoreDocs = top.scoreDocs;
+            for (int i = offset; i < Math.min(scoreDocs.length, offset + size); i++) {
+                ids.add(Long.parseLong(searcher.storedFields().document(scoreDocs[i].doc).get(ID)));
+            }
+            return new Hits(ids, scoreDocs.length > offset + size);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${incident.search.refresh-interval-ms:1000}")
+    public void refresh() throws IOException {
+        searcherManager.maybeRefresh();
+    }
+
+    @Scheduled(fixedDelayString = "${incident.search.commit-interval-ms:30000}")
+    public void commit() throws IOException {
+        if (writer.hasUncommittedChanges()) {
+            // Ids are handed out before the row commits and indexing follows the commit, so only
+            // ids older than settleTime are known to be in the index already
+            long settled = SnowflakeIds.maxIdBefore(System.currentTimeMillis() - settleTime.toMillis());
+            indexedThrough = Math.max(indexedThrough, settled);
+            writer.setLiveCommitData(Map.of(INDEXED_THROUGH, String.valueOf(indexedThrough)).entrySet());
+            writer.commit();
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        commit();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private void catchUp(long afterId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Incident> incidents = incidentRepository.streamAfter(afterId)) {
+                incidents.forEach(incident -> {
+                    try {
+                        index(incident);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    entityManager.detach(incident);
+                });
+            }
+        });
+    }
+
+    private void index(Incident incident) throws IOException {
+        String id = String.valueOf(incident.getId());
+        Document document = new Document();
+        document.add(new StringField(ID, id, Field.Store.YES));
+        document.add(new TextField(TITLE, nullToEmpty(incident.getTitle()), Field.Store.NO));
+        document.add(new TextField(DESCRIPTION, nullToEmpty(incident.getDescription()), Field.Store.NO));
+        document.add(new StringField(SERVICE, nullToEmpty(incident.getAffectedService()).toLowerCase(), Field.Store.NO));
+        if (incident.getAiSeverity() != null) {
+            document.add(new StringField(SEVERITY, incident.getAiSeverity().name(), Field.Store.NO));
+        }
+        if (incident.getAiCategory() != null) {
+            document.add(new StringField(CATEGORY, incident.getAiCategory().name(), Field.Store.NO));
+        }
+        writer.updateDocument(new Term(ID, id), document);
+    }
+
+    private Query parse(String text) {
+        MultiFieldQueryParser parser = new RestrictedQueryParser(
+                new String[]{TITLE, DESCRIPTION}, analyzer, FIELD_BOOSTS);
+        try {
+            return parser.parse(text);
+        } catch (ParseException e) {
+            // Fall back to plain terms when the input is not valid or not allowed query syntax
+            try {
+                return parser.parse(QueryParser.escape(text));
+            } catch (ParseException escaped) {
+                throw new IllegalArgumentException("Invalid search query: " + text, escaped);
+            }
+        }
+    }
+
+    // Leading wildcards and regular expressions have to walk the whole term dictionary, so a
+    // single request could tie up a search thread; both are refused at parse time
+    private static class RestrictedQueryParser extends MultiFieldQueryParser {
+
+        RestrictedQueryParser(String[] fields, Analyzer analyzer, Map<String, Float> boosts) {
+            super(fields, analyzer, boosts);
+            setAllowLeadingWildcard(false);
+        }
+
+        @Override
+        protected Query getRegexpQuery(String field, String termStr) throws ParseException {
+            throw new ParseException("Regular expression queries are not supported: /" + termStr + "/");
+        }
+    }
+
+    private static String escapeWildcard(String value) {
+        return value.replace("\\", "\\\\").replace("*", "\\*").replace("?", "\\?");
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
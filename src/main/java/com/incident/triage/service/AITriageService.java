@@ -1,71 +1,63 @@
 package com.incident.triage.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.incident.triage.engine.TextFeatures;
+import com.incident.triage.engine.TriageEngine;
+import com.incident.triage.engine.TriageResult;
 import com.incident.triage.model.Incident;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.Arrays;
+import java.util.List;
 
 @Service
 public class AITriageService {
 
-    public Incident processIncidentWithAI(Incident incident) {
-        // Simulated AI logic for severity classification
-        String severity = determineSeverity(incident);
-        String category = determineCategory(incident);
-        String suggestedAction = generateSuggestedAction(incident, severity, category);
-
-        incident.setAiSeverity(severity);
-        incident.setAiCategory(category);
-        incident.setAiSuggestedAction(suggestedAction);
-
-        return incident;
-    }
-
-    private String determineSeverity(Incident incident) {
-        String description = incident.getDescription().toLowerCase();
-        String title = incident.getTitle().toLowerCase();
-
-        // High severity keywords
-        if (containsAny(description, title, "down", "outage", "critical", "emergency", "production")) {
-            return "HIGH";
-        }
-
-        // Medium severity keywords
-        if (containsAny(description, title, "slow", "performance", "timeout", "error")) {
-            return "MEDIUM";
+    private final TriageEngine triageEngine;
+    private final Cache<Long, TriageResult> resultCache;   // null when caching is disabled
+    private final IncidentMetrics metrics;
+
+    public AITriageService(List<TriageEngine> triageEngines, IncidentMetrics metrics, MeterRegistry registry,
+                           @Value("${triage.engine:rules}") String engineName,
+                           @Value("${triage.cache.enabled:true}") boolean cacheEnabled,
+                           @Value("${triage.cache.max-size:100000}") long cacheMaxSize) {
+        this.triageEngine = triageEngines.stream()
+                .filter(engine -> engine.name().equals(engineName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unknown triage engine: " + engineName));
+        this.metrics = metrics;
+        this.resultCache = cacheEnabled
+                ? Caffeine.newBuilder().maximumSize(cacheMaxSize).recordStats().build()
+                : null;
+        if (resultCache != null) {
+            CaffeineCacheMetrics.monitor(registry, resultCache, "incident.triage.results");
         }
-
-        return "LOW";
     }
 
-    private String determineCategory(Incident incident) {
-        String description = incident.getDescription().toLowerCase();
-        String affectedService = incident.getAffectedService().toLowerCase();
+    public Incident processIncidentWithAI(Incident incident) {
+        long start = System.nanoTime();
+        TriageResult result = classify(incident);
+        metrics.recordClassify(start);
 
-        if (containsAny(description, affectedService, "database", "db", "sql")) {
-            return "DATABASE";
-        }
-        if (containsAny(description, affectedService, "network", "connectivity", "internet")) {
-            return "NETWORK";
-        }
-        if (containsAny(description, affectedService, "server", "cpu", "memory", "disk")) {
-            return "INFRASTRUCTURE";
-        }
+        incident.setAiSeverity(result.severity());
+        incident.setAiCategory(result.category());
 
-        return "APPLICATION";
+        return incident;
     }
 
-    private String generateSuggestedAction(Incident incident, String severity, String category) {
-        return switch (severity) {
-            case "HIGH" -> "Immediate escalation to on-call engineer required";
-            case "MEDIUM" -> "Assign to appropriate team within 2 hours";
-            case "LOW" -> "Add to team backlog for next business day";
-            default -> "Review and categorize manually";
-        };
+    // Duplicate alerts share a normalized content hash and skip inference
+    private TriageResult classify(Incident incident) {
+        if (resultCache == null) {
+            return classifyUncached(incident);
+        }
+        long key = TextFeatures.contentHash(incident.getTitle(), incident.getDescription(), incident.getAffectedService());
+        return resultCache.get(key, k -> classifyUncached(incident));
     }
 
-    private boolean containsAny(String text1, String text2, String... keywords) {
-        return Arrays.stream(keywords)
-                .anyMatch(keyword -> text1.contains(keyword) || text2.contains(keyword));
+    private TriageResult classifyUncached(Incident incident) {
+        return triageEngine.classify(incident.getTitle(), incident.getDescription(), incident.getAffectedService());
     }
 }
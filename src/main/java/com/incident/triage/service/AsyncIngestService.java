@@ -0,0 +1,360 @@
+package com.incident.triage.service;
+
+import com.incident.triage.dto.IncidentRequest;
+import com.incident.triage.dto.IncidentResponse;
+import com.incident.triage.dto.IngestTicketResponse;
+import com.incident.triage.journal.IngestJournal;
+import com.incident.triage.journal.JournalEntry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Accepts incidents into a bounded queue and persists them from virtual-thread workers in micro-batches.
+// With the ingest journal enabled, an incident is journaled before it is acknowledged.
+@Service
+@ConditionalOnProperty(name = "incident.ingest.async.enabled", havingValue = "true")
+public class AsyncIngestService {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncIngestService.class);
+
+    // journalSequence is 0 when the journal is disabled
+    private record PendingIncident(String ticket, IncidentRequest request, long enqueuedAtNanos,
+                                   long journalSequence, boolean replayed) {
+    }
+
+    private final IncidentService incidentService;
+    private final IngestJournal journal;   // null when disabled
+    private final BlockingQueue<PendingIncident> queue;
+    private final int workers;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final Duration foldedTicketRetention;
+    private final ExecutorService executor;
+    private final Set<String> queuedTickets = ConcurrentHashMap.newKeySet();
+    private final Map<String, Long> persistedTickets;
+    private final Map<String, String> failedTickets;      // ticket -> reason
+    private final Duration shutdownTimeout;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder persisted = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private volatile boolean running = true;
+
+    public AsyncIngestService(IncidentService incidentService, Optional<IngestJournal> journal, MeterRegistry registry,
+                              @Value("${incident.ingest.async.queue-capacity:10000}") int queueCapacity,
+                              @Value("${incident.ingest.async.workers:4}") int workers,
+                              @Value("${incident.ingest.async.batch-size:200}") int batchSize,
+                              @Value("${incident.ingest.async.max-attempts:5}") int maxAttempts,
+                              @Value("${incident.ingest.async.retry-backoff-ms:1000}") long retryBackoffMillis,
+                              @Value("${incident.ingest.async.ticket-retention:100000}") int ticketRetention,
+                              @Value("${incident.ingest.async.folded-ticket-retention:1d}") Duration foldedTicketRetention,
+                              @Value("${incident.ingest.async.shutdown-timeout:30s}") Duration shutdownTimeout) {
+        this.incidentService = incidentService;
+        this.journal = journal.orElse(null);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.foldedTicketRetention = foldedTicketRetention;
+        this.shutdownTimeout = shutdownTimeout;
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("triage-worker-", 0).factory());
+        this.persistedTickets = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > ticketRetention;
+            }
+        });
+        this.failedTickets = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > ticketRetention;
+            }
+        });
+
+        Gauge.builder("incident.ingest.queue.depth", queue, BlockingQueue::size)
+                .description("Incidents accepted but not yet persisted")
+                .register(registry);
+        Gauge.builder("incident.ingest.queue.remaining", queue, BlockingQueue::remainingCapacity)
+                .description("Free slots before submissions are rejected")
+                .register(registry);
+        Gauge.builder("incident.ingest.queue.lag", this, AsyncIngestService::getLagMillis)
+                .description("Age of the oldest queued incident")
+                .baseUnit("milliseconds")
+                .register(registry);
+        FunctionCounter.builder("incident.ingest.submissions", accepted, LongAdder::sum)
+                .tag("result", "accepted")
+                .register(registry);
+        FunctionCounter.builder("incident.ingest.submissions", rejected, LongAdder::sum)
+                .tag("result", "rejected")
+                .register(registry);
+        FunctionCounter.builder("incident.ingest.persisted", persisted, LongAdder::sum)
+                .register(registry);
+        FunctionCounter.builder("incident.ingest.failed", failed, LongAdder::sum)
+                .register(registry);
+    }
+
+    @PostConstruct
+    void startWorkers() {
+        for (int i = 0; i < workers; i++) {
+            executor.submit(this::drainLoop);
+        }
+        if (journal != null) {
+            List<JournalEntry> entries = journal.takeUnapplied();
+            if (!entries.isEmpty()) {
+                executor.submit(() -> replay(entries));
+            }
+        }
+    }
+
+    // Empty result means the queue is full and the caller should back off
+    public Optional<String> submit(IncidentRequest request) {
+        String ticket = UUID.randomUUID().toString();
+        // Checked before journaling so that a rejected incident is almost never written
+        if (!running || queue.remainingCapacity() == 0) {
+            rejected.increment();
+            return Optional.empty();
+        }
+
+        long sequence = 0L;
+        if (journal != null) {
+            try {
+                sequence = journal.append(ticket, request);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to journal incident", e);
+            }
+        }
+
+        queuedTickets.add(ticket);
+        if (!queue.offer(new PendingIncident(ticket, request, System.nanoTime(), sequence, false))) {
+            queuedTickets.remove(ticket);
+            if (journal != null) {
+                // Lost the race for the last slot; the record must not be replayed
+                journal.markApplied(sequence);
+            }
+            rejected.increment();
+            return Optional.empty();
+        }
+        accepted.increment();
+        return Optional.of(ticket);
+    }
+
+    public IngestTicketResponse getTicket(String ticket) {
+        Long incidentId = persistedTickets.get(ticket);
+        if (incidentId != null) {
+            return new IngestTicketResponse(ticket, "PERSISTED", incidentId);
+        }
+        String reason = failedTickets.get(ticket);
+        if (reason != null) {
+            IngestTicketResponse response = new IngestTicketResponse(ticket, "FAILED", null);
+            response.setError(reason);
+            return response;
+        }
+        return new IngestTicketResponse(ticket, queuedTickets.contains(ticket) ? "QUEUED" : "UNKNOWN", null);
+    }
+
+    @Scheduled(fixedDelayString = "${incident.ingest.async.ticket-prune-interval-ms:3600000}")
+    void pruneFoldedTickets() {
+        int pruned = incidentService.pruneFoldedTickets(LocalDateTime.now().minus(foldedTicketRetention));
+        if (pruned > 0) {
+            log.debug("Pruned {} folded ingest tickets", pruned);
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    // Age of the oldest queued incident, i.e. how far the workers are behind
+    public long getLagMillis() {
+        PendingIncident oldest = queue.peek();
+        return oldest == null ? 0L : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldest.enqueuedAtNanos());
+    }
+
+    public Map<String, Long> getStatus() {
+        Map<String, Long> status = new HashMap<>();
+        status.put("queue_depth", (long) queue.size());
+        status.put("queue_remaining_capacity", (long) queue.remainingCapacity());
+        status.put("lag_ms", getLagMillis());
+        status.put("accepted", accepted.sum());
+        status.put("rejected", rejected.sum());
+        status.put("persisted", persisted.sum());
+        status.put("failed", failed.sum());
+        return status;
+    }
+
+    private void drainLoop() {
+        List<PendingIncident> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingIncident first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                try {
+                    persist(batch);
+                } catch (RuntimeException e) {
+                    log.warn("Batch of {} queued incidents failed, retrying them one at a time", batch.size(), e);
+                    persistIndividually(batch);
+                }
+            } catch (InterruptedException e) {
+                // Journaled incidents not yet applied are replayed on the next start
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void persist(List<PendingIncident> batch) {
+        // A replayed entry may have been committed just before the crash, after the last checkpoint
+        Map<String, Long> alreadyPersisted = Map.of();
+        if (batch.stream().anyMatch(PendingIncident::replayed)) {
+            alreadyPersisted = incidentService.findIncidentIdsByIngestTicket(
+                    batch.stream().filter(PendingIncident::replayed).map(PendingIncident::ticket).toList());
+        }
+
+        List<PendingIncident> pendingInserts = new ArrayList<>(batch.size());
+        List<IncidentRequest> requests = new ArrayList<>(batch.size());
+        List<String> tickets = new ArrayList<>(batch.size());
+        for (PendingIncident pending : batch) {
+            Long existingId = alreadyPersisted.get(pending.ticket());
+            if (existingId != null) {
+                completed(pending, existingId);
+            } else {
+                pendingInserts.add(pending);
+                requests.add(pending.request());
+                tickets.add(pending.ticket());
+            }
+        }
+
+        List<IncidentResponse> responses = incidentService.createIncidents(requests, tickets);
+        for (int i = 0; i < pendingInserts.size(); i++) {
+            completed(pendingInserts.get(i), responses.get(i).getId());
+        }
+        persisted.add(pendingInserts.size());
+    }
+
+    // The failed batch rolled back as a whole, so one bad row no longer takes the others with it.
+    // Each incident gets maxAttempts tries with doubling backoff before it is dead-lettered.
+    private void persistIndividually(List<PendingIncident> batch) throws InterruptedException {
+        for (PendingIncident pending : batch) {
+            long backoff = retryBackoffMillis;
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    persist(List.of(pending));
+                    break;
+                } catch (RuntimeException e) {
+                    if (attempt >= maxAttempts) {
+                        deadLetter(pending, e);
+                        break;
+                    }
+                    Thread.sleep(backoff);
+                    backoff *= 2;
+                }
+            }
+        }
+    }
+
+    // Marked applied once it is safely in the dead-letter file, so it neither holds back the
+    // checkpoint nor fails again on every start
+    private void deadLetter(PendingIncident pending, RuntimeException cause) {
+        failed(pending, String.valueOf(cause.getMessage()));
+        log.error("Giving up on queued incident {} after {} attempts", pending.ticket(), maxAttempts, cause);
+        if (journal != null) {
+            try {
+                journal.deadLetter(pending.journalSequence(), pending.ticket(), pending.request(), cause);
+                journal.markApplied(pending.journalSequence());
+            } catch (IOException e) {
+                log.error("Failed to dead-letter incident {}; it stays in the journal", pending.ticket(), e);
+            }
+        }
+    }
+
+    private void failed(PendingIncident pending, String reason) {
+        failed.increment();
+        failedTickets.put(pending.ticket(), reason);
+        queuedTickets.remove(pending.ticket());
+    }
+
+    private void completed(PendingIncident pending, Long incidentId) {
+        persistedTickets.put(pending.ticket(), incidentId);
+        queuedTickets.remove(pending.ticket());
+        if (journal != null) {
+            journal.markApplied(pending.journalSequence());
+        }
+    }
+
+    // Re-queues acknowledged incidents from the journal, waiting for room like a slow producer
+    private void replay(List<JournalEntry> entries) {
+        for (JournalEntry entry : entries) {
+            queuedTickets.add(entry.ticket());
+            try {
+                queue.put(new PendingIncident(entry.ticket(), entry.request(), System.nanoTime(), entry.sequence(), true));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        log.info("Replayed {} journaled incidents into the ingest queue", entries.size());
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        // Workers keep draining until the queue is empty
+        running = false;
+        executor.shutdown();
+        if (executor.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            return;
+        }
+        executor.shutdownNow();
+        List<PendingIncident> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        if (journal != null) {
+            // Still unapplied in the journal, so the next start replays them
+            log.warn("Async ingest stopped after {} with {} incidents queued; they are replayed from the journal on restart",
+                    shutdownTimeout, abandoned.size());
+            return;
+        }
+        for (PendingIncident pending : abandoned) {
+            failed(pending, "Not persisted before shutdown");
+        }
+        log.error("Async ingest stopped after {} without a journal; {} queued incidents were not persisted: {}",
+                shutdownTimeout, abandoned.size(), abandoned.stream().map(PendingIncident::ticket).toList());
+    }
+}
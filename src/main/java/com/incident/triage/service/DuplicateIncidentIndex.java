@@ -0,0 +1,222 @@
+package com.incident.triage.service;
+
+import com.incident.triage.engine.TextFeatures;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// In-memory near-duplicate index: SimHash signatures of recent incidents, bucketed by
+// affectedService and banded for LSH lookup. Signatures within maxDistance bits of each
+// other always share at least one band, so lookups only compare candidates.
+// Services only expire their own entries when touched, so a periodic sweep expires idle
+// services and drops the empty ones; affectedService is caller-supplied and unbounded.
+@Component
+public class DuplicateIncidentIndex {
+
+    private static final int BANDS = 4;
+    private static final int BAND_BITS = Long.SIZE / BANDS;
+    private static final long BAND_MASK = (1L << BAND_BITS) - 1;
+
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxDistance;
+    private final int maxEntriesPerService;
+    private final ConcurrentMap<String, ServiceIndex> services = new ConcurrentHashMap<>();
+
+    public DuplicateIncidentIndex(@Value("${incident.dedup.enabled:true}") boolean enabled,
+                                  @Value("${incident.dedup.window:15m}") Duration window,
+                                  @Value("${incident.dedup.max-distance:3}") int maxDistance,
+                                  @Value("${incident.dedup.max-entries-per-service:10000}") int maxEntriesPerService) {
+        if (maxDistance >= BANDS) {
+            throw new IllegalArgumentException("incident.dedup.max-distance must be below " + BANDS);
+        }
+        this.enabled = enabled;
+        this.windowNanos = window.toNanos();
+        this.maxDistance = maxDistance;
+        this.maxEntriesPerService = maxEntriesPerService;
+    }
+
+    public long signature(String title, String description) {
+        return TextFeatures.simHash(title, description);
+    }
+
+    // Id of an incident in the window that is near-identical to the signature, refreshing its window
+    public OptionalLong findDuplicate(String affectedService, long signature) {
+        if (!enabled) {
+            return OptionalLong.empty();
+        }
+        ServiceIndex index = services.get(affectedService);
+        return index == null ? OptionalLong.empty() : index.find(signature, System.nanoTime());
+    }
+
+    public void register(String affectedService, long signature, long incidentId) {
+        if (enabled) {
+            Entry entry = new Entry(incidentId, signature, System.nanoTime());
+            // Added inside compute, so the sweep cannot drop the index between lookup and add
+            services.compute(affectedService, (service, index) -> {
+                ServiceIndex target = index == null ? new ServiceIndex() : index;
+                target.add(entry);
+                return target;
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${incident.dedup.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        for (String service : services.keySet()) {
+            services.computeIfPresent(service, (key, index) -> index.expire(now) ? null : index);
+        }
+    }
+
+    int trackedServices() {
+        return services.size();
+    }
+
+    public void forget(String affectedService, long incidentId) {
+        ServiceIndex index = services.get(affectedService);
+        if (index != null) {
+            index.remove(incidentId);
+        }
+    }
+
+    private static long bandKey(int band, long signature) {
+        return ((long) band << BAND_BITS) | ((signature >>> (band * BAND_BITS)) & BAND_MASK);
+    }
+
+    private static final class Entry {
+        final long incidentId;
+        final long signature;
+        long queuedNanos;       // position in the age queue
+        long lastSeenNanos;
+        boolean removed;
+
+        Entry(long incidentId, long signature, long lastSeenNanos) {
+            this.incidentId = incidentId;
+            this.signature = signature;
+            this.queuedNanos = lastSeenNanos;
+            this.lastSeenNanos = lastSeenNanos;
+        }
+    }
+
+    // One lock per service keeps storms on one service from blocking the others. A
+    // ReentrantLock rather than a monitor, so virtual threads contending during a storm
+    // park instead of pinning their carrier threads.
+    private final class ServiceIndex {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<Long, List<Entry>> bands = new HashMap<>();
+        private final ArrayDeque<Entry> byAge = new ArrayDeque<>();
+        private int size;
+
+        OptionalLong find(long signature, long now) {
+            lock.lock();
+            try {
+                evictExpired(now);
+                for (int band = 0; band < BANDS; band++) {
+                    List<Entry> candidates = bands.get(bandKey(band, signature));
+                    if (candidates == null) {
+                        continue;
+                    }
+                    for (Entry candidate : candidates) {
+                        if (Long.bitCount(candidate.signature ^ signature) <= maxDistance) {
+                            candidate.lastSeenNanos = now;
+                            return OptionalLong.of(candidate.incidentId);
+                        }
+                    }
+                }
+                return OptionalLong.empty();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void add(Entry entry) {
+            lock.lock();
+            try {
+                evictExpired(entry.lastSeenNanos);
+                while (size >= maxEntriesPerService) {
+                    unlink(byAge.pollFirst());
+                }
+                for (int band = 0; band < BANDS; band++) {
+                    bands.computeIfAbsent(bandKey(band, entry.signature), k -> new ArrayList<>(2)).add(entry);
+                }
+                byAge.addLast(entry);
+                size++;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // True when nothing is left in the window
+        boolean expire(long now) {
+            lock.lock();
+            try {
+                evictExpired(now);
+                return size == 0;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(long incidentId) {
+            lock.lock();
+            try {
+                for (Entry entry : byAge) {
+                    if (entry.incidentId == incidentId && !entry.removed) {
+                        unlink(entry);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // The queue is ordered by queuedNanos; entries seen again since they were queued move to the back
+        private void evictExpired(long now) {
+            Entry oldest;
+            while ((oldest = byAge.peekFirst()) != null) {
+                if (oldest.removed) {
+                    byAge.pollFirst();
+                } else if (now - oldest.lastSeenNanos > windowNanos) {
+                    byAge.pollFirst();
+                    unlink(oldest);
+                } else if (oldest.lastSeenNanos != oldest.queuedNanos) {
+                    byAge.pollFirst();
+                    oldest.queuedNanos = oldest.lastSeenNanos;
+                    byAge.addLast(oldest);
+                } else {
+                    return;
+                }
+            }
+        }
+
+        private void unlink(Entry entry) {
+            if (entry == null || entry.removed) {
+                return;
+            }
+            entry.removed = true;
+            size--;
+            for (int band = 0; band < BANDS; band++) {
+                long key = bandKey(band, entry.signature);
+                List<Entry> bucket = bands.get(key);
+                if (bucket != null) {
+                    bucket.remove(entry);
+                    if (bucket.isEmpty()) {
+                        bands.remove(key);
+                    }
+                }
+            }
+        }
+    }
+}
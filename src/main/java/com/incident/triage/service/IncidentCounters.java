@@ -0,0 +1,230 @@
+package com.incident.triage.service;
+
+import com.incident.triage.archive.IncidentArchive;
+import com.incident.triage.cluster.SnowflakeIds;
+import com.incident.triage.event.IncidentCreatedEvent;
+import com.incident.triage.model.Category;
+import com.incident.triage.model.Incident;
+import com.incident.triage.model.Severity;
+import com.incident.triage.model.StatisticsRollup;
+import com.incident.triage.repository.IncidentRepository;
+import com.incident.triage.repository.StatisticsRollupRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+// Live incident statistics, updated on the create path so reads never touch incident rows.
+// The persisted rollup is not a copy of these counters: it counts committed rows up to a
+// watermark id and is topped up from the table, so it is exact whatever order inserts commit in.
+@Component
+public class IncidentCounters {
+
+    private static final String TOTAL_KEY = "total";
+    private static final String WATERMARK_KEY = "watermark_id";
+    private static final String SEVERITY_PREFIX = "severity:";
+    private static final String CATEGORY_PREFIX = "category:";
+
+    private final IncidentRepository incidentRepository;
+    private final StatisticsRollupRepository rollupRepository;
+    private final IncidentArchive archive;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean rollupEnabled;
+    private final Duration settleTime;
+
+    private final LongAdder total = new LongAdder();
+    // Indexed by enum ordinal
+    private final LongAdder[] bySeverity = newAdders(Severity.values().length);
+    private final LongAdder[] byCategory = newAdders(Category.values().length);
+
+    public IncidentCounters(IncidentRepository incidentRepository,
+                            StatisticsRollupRepository rollupRepository,
+                            IncidentArchive archive,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${incident.statistics.rollup.enabled:false}") boolean rollupEnabled,
+                            @Value("${incident.statistics.rollup.settle-time:5m}") Duration settleTime) {
+        this.incidentRepository = incidentRepository;
+        this.rollupRepository = rollupRepository;
+        this.archive = archive;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rollupEnabled = rollupEnabled;
+        this.settleTime = settleTime;
+    }
+
+    @PostConstruct
+    void rebuild() {
+        // Start from the persisted rollup when there is one, then count only newer rows
+        long afterId = rollupEnabled ? restoreRollup(total, bySeverity, byCategory) : 0L;
+        if (afterId == 0L) {
+            // Without a rollup, rows moved to the archive are only known from the archive files
+            restoreArchive();
+        }
+
+        for (Object[] row : incidentRepository.countBySeverityAfter(afterId)) {
+            long count = (Long) row[1];
+            total.add(count);
+            add(bySeverity, (Severity) row[0], count);
+        }
+        for (Object[] row : incidentRepository.countByCategoryAfter(afterId)) {
+            add(byCategory, (Category) row[0], (Long) row[1]);
+        }
+        if (afterId == 0L) {
+            skipArchivedRows(total, bySeverity, byCategory, Long.MAX_VALUE);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIncidentCreated(IncidentCreatedEvent event) {
+        Incident incident = event.incident();
+        total.increment();
+        add(bySeverity, incident.getAiSeverity(), 1L);
+        add(byCategory, incident.getAiCategory(), 1L);
+    }
+
+    public Map<String, Long> snapshot() {
+        Map<String, Long> stats = new HashMap<>();
+        stats.put("total_incidents", total.sum());
+        stats.put("high_severity", bySeverity[Severity.HIGH.ordinal()].sum());
+        stats.put("medium_severity", bySeverity[Severity.MEDIUM.ordinal()].sum());
+        stats.put("low_severity", bySeverity[Severity.LOW.ordinal()].sum());
+        stats.put("database_issues", byCategory[Category.DATABASE.ordinal()].sum());
+        stats.put("network_issues", byCategory[Category.NETWORK.ordinal()].sum());
+        stats.put("application_issues", byCategory[Category.APPLICATION.ordinal()].sum());
+        stats.put("infrastructure_issues", byCategory[Category.INFRASTRUCTURE.ordinal()].sum());
+        return stats;
+    }
+
+    @Scheduled(fixedDelayString = "${incident.statistics.rollup.flush-interval-ms:30000}")
+    public void flushRollup() {
+        if (!rollupEnabled) {
+            return;
+        }
+
+        // Snowflake ids are handed out before commit, so a smaller id can still commit after a
+        // larger one. Only ids older than settleTime, longer than any insert transaction runs,
+        // are counted; every row at or below the watermark is then committed or never will be.
+        long settled = SnowflakeIds.maxIdBefore(System.currentTimeMillis() - settleTime.toMillis());
+        transactionTemplate.executeWithoutResult(status -> {
+            LongAdder rolledTotal = new LongAdder();
+            LongAdder[] rolledBySeverity = newAdders(Severity.values().length);
+            LongAdder[] rolledByCategory = newAdders(Category.values().length);
+            long watermark = restoreRollup(rolledTotal, rolledBySeverity, rolledByCategory);
+            if (watermark == 0L) {
+                // The first rollup also carries the months already moved to the archive
+                addArchive(rolledTotal, rolledBySeverity, rolledByCategory);
+            }
+            if (settled <= watermark) {
+                return;
+            }
+
+            for (Object[] row : incidentRepository.countBySeverityBetween(watermark, settled)) {
+                long count = (Long) row[1];
+                rolledTotal.add(count);
+                add(rolledBySeverity, (Severity) row[0], count);
+            }
+            for (Object[] row : incidentRepository.countByCategoryBetween(watermark, settled)) {
+                add(rolledByCategory, (Category) row[0], (Long) row[1]);
+            }
+            if (watermark == 0L) {
+                skipArchivedRows(rolledTotal, rolledBySeverity, rolledByCategory, settled);
+            }
+
+            List<StatisticsRollup> rows = new ArrayList<>();
+            rows.add(new StatisticsRollup(TOTAL_KEY, rolledTotal.sum()));
+            // Rollup rows are keyed by enum name, independent of the column codes
+            for (Severity severity : Severity.values()) {
+                rows.add(new StatisticsRollup(SEVERITY_PREFIX + severity.name(),
+                        rolledBySeverity[severity.ordinal()].sum()));
+            }
+            for (Category category : Category.values()) {
+                rows.add(new StatisticsRollup(CATEGORY_PREFIX + category.name(),
+                        rolledByCategory[category.ordinal()].sum()));
+            }
+            rows.add(new StatisticsRollup(WATERMARK_KEY, settled));
+            rollupRepository.saveAll(rows);
+        });
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flushRollup();
+    }
+
+    private long restoreRollup(LongAdder total, LongAdder[] bySeverity, LongAdder[] byCategory) {
+        long watermark = 0L;
+        for (StatisticsRollup row : rollupRepository.findAll()) {
+            String key = row.getCounterKey();
+            if (key.equals(TOTAL_KEY)) {
+                total.add(row.getCounterValue());
+            } else if (key.equals(WATERMARK_KEY)) {
+                watermark = row.getCounterValue();
+            } else if (key.startsWith(SEVERITY_PREFIX)) {
+                add(bySeverity, Severity.parse(key.substring(SEVERITY_PREFIX.length())).orElse(null),
+                        row.getCounterValue());
+            } else if (key.startsWith(CATEGORY_PREFIX)) {
+                add(byCategory, Category.parse(key.substring(CATEGORY_PREFIX.length())).orElse(null),
+                        row.getCounterValue());
+            }
+        }
+        return watermark;
+    }
+
+    private void restoreArchive() {
+        addArchive(total, bySeverity, byCategory);
+    }
+
+    private void addArchive(LongAdder total, LongAdder[] bySeverity, LongAdder[] byCategory) {
+        IncidentArchive.Totals totals = archive.totals();
+        total.add(totals.rows());
+        totals.bySeverity().forEach((severity, count) -> add(bySeverity, severity, count));
+        totals.byCategory().forEach((category, count) -> add(byCategory, category, count));
+    }
+
+    // A month whose range delete failed after its file was written is both archived and still in
+    // the table; those rows were counted twice, once per side, so take the table side back out
+    private void skipArchivedRows(LongAdder total, LongAdder[] bySeverity, LongAdder[] byCategory, long upToId) {
+        for (YearMonth month : archive.months()) {
+            List<Object[]> rows = incidentRepository.findCountedRowsCreatedInRange(
+                    month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay());
+            if (rows.isEmpty()) {
+                continue;
+            }
+            Set<Long> archivedIds = archive.ids(month);
+            for (Object[] row : rows) {
+                long id = (Long) row[0];
+                if (id <= upToId && archivedIds.contains(id)) {
+                    total.decrement();
+                    add(bySeverity, (Severity) row[1], -1L);
+                    add(byCategory, (Category) row[2], -1L);
+                }
+            }
+        }
+    }
+
+    private static LongAdder[] newAdders(int size) {
+        LongAdder[] adders = new LongAdder[size];
+        for (int i = 0; i < size; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static void add(LongAdder[] counters, Enum<?> key, long delta) {
+        if (key != null) {
+            counters[key.ordinal()].add(delta);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.incident.triage.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.incident.triage.dto.IncidentResponse;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+public class IncidentExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER =
+            "id,title,description,affectedService,aiSeverity,aiCategory,aiSuggestedAction,createdAt\n";
+
+    private final IncidentService incidentService;
+    private final ObjectWriter incidentWriter;
+
+    public IncidentExportService(IncidentService incidentService, ObjectMapper objectMapper) {
+        this.incidentService = incidentService;
+        this.incidentWriter = objectMapper.writerFor(IncidentResponse.class);
+    }
+
+    // One JSON document per line (application/x-ndjson)
+    public void writeNdjson(LocalDateTime startDate, LocalDateTime endDate, OutputStream out) throws IOException {
+        OutputStream buffered = new BufferedOutputStream(out, BUFFER_SIZE);
+        incidentService.streamIncidents(startDate, endDate, incident -> {
+            try {
+                buffered.write(incidentWriter.writeValueAsBytes(incident));
+                buffered.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        buffered.flush();
+    }
+
+    // RFC 4180 CSV, gzip-compressed
+    public void writeGzipCsv(LocalDateTime startDate, LocalDateTime endDate, OutputStream out) throws IOException {
+        GZIPOutputStream gzip = new GZIPOutputStream(out, BUFFER_SIZE);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(CSV_HEADER);
+        incidentService.streamIncidents(startDate, endDate, incident -> {
+            try {
+                writer.write(String.valueOf(incident.getId()));
+                writeCsvField(writer, incident.getTitle());
+                writeCsvField(writer, incident.getDescription());
+                writeCsvField(writer, incident.getAffectedService());
+                writeCsvField(writer, incident.getAiSeverity());
+                writeCsvField(writer, incident.getAiCategory());
+                writeCsvField(writer, incident.getAiSuggestedAction());
+                writeCsvField(writer, String.valueOf(incident.getCreatedAt()));
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+        gzip.finish();
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,57 @@
+package com.incident.triage.service;
+
+import com.incident.triage.config.CacheConfig;
+import com.incident.triage.event.IncidentAcknowledgedEvent;
+import com.incident.triage.event.IncidentCreatedEvent;
+import com.incident.triage.event.IncidentEscalatedEvent;
+import com.incident.triage.event.IncidentFoldedEvent;
+import com.incident.triage.model.Incident;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Drops the cached lists an incident belongs to once a write to it is committed, so a reader
+// can never re-cache the old list between the eviction and the commit
+@Component
+public class IncidentListCacheInvalidator {
+
+    private final Cache bySeverity;
+    private final Cache byCategory;
+
+    public IncidentListCacheInvalidator(CacheManager cacheManager) {
+        this.bySeverity = cacheManager.getCache(CacheConfig.INCIDENTS_BY_SEVERITY);
+        this.byCategory = cacheManager.getCache(CacheConfig.INCIDENTS_BY_CATEGORY);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIncidentCreated(IncidentCreatedEvent event) {
+        evict(event.incident());
+    }
+
+    // Occurrence count and lastSeenAt changed
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIncidentFolded(IncidentFoldedEvent event) {
+        evict(event.incident());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIncidentAcknowledged(IncidentAcknowledgedEvent event) {
+        evict(event.incident());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIncidentEscalated(IncidentEscalatedEvent event) {
+        evict(event.incident());
+    }
+
+    // Also called by ClusterChangeFeed for other nodes' folds, acknowledgements and escalations
+    public void evict(Incident incident) {
+        if (bySeverity != null && incident.getAiSeverity() != null) {
+            bySeverity.evict(incident.getAiSeverity());
+        }
+        if (byCategory != null && incident.getAiCategory() != null) {
+            byCategory.evict(incident.getAiCategory());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.incident.triage.service;
+
+import com.incident.triage.event.IncidentCreatedEvent;
+import com.incident.triage.model.Category;
+import com.incident.triage.model.Incident;
+import com.incident.triage.model.Severity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.TimeUnit;
+
+// Hot-path meters, all under the "incident." prefix so management.metrics.enable.incident=false
+// turns them into no-ops. Meters are resolved once here; the hot path only records nanos.
+@Component
+public class IncidentMetrics {
+
+    private final Timer classify;
+    private final Timer save;
+    private final Timer flush;
+    private final Timer convert;
+    private final Counter folded;
+    private final Counter[][] created;   // [severity ordinal][category ordinal]
+
+    public IncidentMetrics(MeterRegistry registry, @Value("${triage.engine:rules}") String engine) {
+        this.classify = Timer.builder("incident.triage.classify")
+                .description("Severity and category classification, including the result cache")
+                .tag("engine", engine)
+                .register(registry);
+        this.save = Timer.builder("incident.persist")
+                .description("Persisting one new incident")
+                .tag("operation", "save")
+                .register(registry);
+        this.flush = Timer.builder("incident.persist")
+                .description("Flushing one JDBC batch of a bulk ingest")
+                .tag("operation", "flush")
+                .register(registry);
+        this.convert = Timer.builder("incident.convert")
+                .description("Mapping an incident to its response DTO")
+                .register(registry);
+        this.folded = Counter.builder("incident.folded")
+                .description("Near-duplicates folded into an existing incident")
+                .register(registry);
+
+        Severity[] severities = Severity.values();
+        Category[] categories = Category.values();
+        this.created = new Counter[severities.length][categories.length];
+        for (Severity severity : severities) {
+            for (Category category : categories) {
+                created[severity.ordinal()][category.ordinal()] = Counter.builder("incident.created")
+                        .description("Committed new incidents")
+                        .tag("severity", severity.name())
+                        .tag("category", category.name())
+                        .register(registry);
+            }
+        }
+    }
+
+    public void recordClassify(long startNanos) {
+        classify.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordSave(long startNanos) {
+        save.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordFlush(long startNanos) {
+        flush.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordConvert(long startNanos) {
+        convert.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordFolded() {
+        folded.increment();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIncidentCreated(IncidentCreatedEvent event) {
+        // Each node counts its own creates; summing over nodes gives the cluster rate
+        if (event.remote()) {
+            return;
+        }
+        Incident incident = event.incident();
+        if (incident.getAiSeverity() != null && incident.getAiCategory() != null) {
+            created[incident.getAiSeverity().ordinal()][incident.getAiCategory().ordinal()].increment();
+        }
+    }
+}
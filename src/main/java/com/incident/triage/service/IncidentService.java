@@ -1,120 +1,477 @@
 package com.incident.triage.service;
 
+import com.incident.triage.archive.IncidentArchive;
+import com.incident.triage.config.CacheConfig;
+import com.incident.triage.dto.IncidentCursor;
+import com.incident.triage.dto.IncidentPage;
 import com.incident.triage.dto.IncidentRequest;
 import com.incident.triage.dto.IncidentResponse;
+import com.incident.triage.dto.IncidentSummaryResponse;
+import com.incident.triage.dto.RelevanceCursor;
+import com.incident.triage.event.IncidentAcknowledgedEvent;
+import com.incident.triage.event.IncidentCreatedEvent;
+import com.incident.triage.event.IncidentFoldedEvent;
+import com.incident.triage.model.Category;
 import com.incident.triage.model.Incident;
+import com.incident.triage.model.IngestTicket;
+import com.incident.triage.model.Severity;
 import com.incident.triage.repository.IncidentRepository;
-import jakarta.transaction.Transactional;
+import com.incident.triage.repository.IncidentSpecifications;
+import com.incident.triage.repository.IncidentSummary;
+import com.incident.triage.repository.IncidentView;
+import com.incident.triage.repository.IngestTicketRepository;
+import com.incident.triage.search.IncidentSearchIndex;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+// Reads run in read-only transactions: Hibernate skips entity snapshots and dirty checking,
+// and list endpoints select projections instead of managed entities
 @Service
 @Transactional
 public class IncidentService {
 
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+    private static final Sort OLDEST_FIRST = Sort.by(Sort.Order.asc("createdAt"), Sort.Order.asc("id"));
+
     private final IncidentRepository incidentRepository;
+    private final IngestTicketRepository ingestTicketRepository;
     private final AITriageService aiTriageService;
+    private final IncidentCounters incidentCounters;
+    private final DuplicateIncidentIndex duplicateIndex;
+    private final OutageCorrelator outageCorrelator;
+    private final IncidentSearchIndex searchIndex;
+    private final IncidentArchive archive;
+    private final IncidentMetrics metrics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final int jdbcBatchSize;
+    private final int exportPageSize;
 
-    public IncidentService(IncidentRepository incidentRepository, AITriageService aiTriageService) {
+    public IncidentService(IncidentRepository incidentRepository, IngestTicketRepository ingestTicketRepository,
+                           AITriageService aiTriageService,
+                           IncidentCounters incidentCounters, DuplicateIncidentIndex duplicateIndex,
+                           OutageCorrelator outageCorrelator,
+                           IncidentSearchIndex searchIndex, IncidentArchive archive, IncidentMetrics metrics,
+                           ApplicationEventPublisher eventPublisher,
+                           EntityManager entityManager,
+                           @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int jdbcBatchSize,
+                           @Value("${incident.export.page-size:1000}") int exportPageSize) {
         this.incidentRepository = incidentRepository;
+        this.ingestTicketRepository = ingestTicketRepository;
         this.aiTriageService = aiTriageService;
+        this.incidentCounters = incidentCounters;
+        this.duplicateIndex = duplicateIndex;
+        this.outageCorrelator = outageCorrelator;
+        this.searchIndex = searchIndex;
+        this.archive = archive;
+        this.metrics = metrics;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.jdbcBatchSize = jdbcBatchSize;
+        this.exportPageSize = exportPageSize;
     }
 
     public IncidentResponse createIncident(IncidentRequest request) {
+        return ingest(request, null, 1);
+    }
+
+    // One incident standing for occurrences incidents that storm protection held back
+    public IncidentResponse createStormSummary(IncidentRequest request, int occurrences) {
+        return ingest(request, null, occurrences);
+    }
+
+    public List<IncidentResponse> createIncidents(List<IncidentRequest> requests) {
+        return createIncidents(requests, null);
+    }
+
+    // ingestTickets, when given, records the async ingest ticket each incident was accepted under
+    public List<IncidentResponse> createIncidents(List<IncidentRequest> requests, List<String> ingestTickets) {
+        List<IncidentResponse> responses = new ArrayList<>(requests.size());
+
+        for (int i = 0; i < requests.size(); i++) {
+            responses.add(ingest(requests.get(i), ingestTickets == null ? null : ingestTickets.get(i), 1));
+
+            // Flush one JDBC batch at a time and keep the persistence context small
+            if ((i + 1) % jdbcBatchSize == 0) {
+                long start = System.nanoTime();
+                entityManager.flush();
+                metrics.recordFlush(start);
+                entityManager.clear();
+            }
+        }
+
+        return responses;
+    }
+
+    private IncidentResponse ingest(IncidentRequest request, String ingestTicket, int occurrences) {
+        // Fold a near-duplicate of a recent incident into it instead of inserting a new row
+        long signature = duplicateIndex.signature(request.getTitle(), request.getDescription());
+        Optional<IncidentResponse> folded = foldIntoDuplicate(request.getAffectedService(), signature, occurrences);
+        if (folded.isPresent()) {
+            if (ingestTicket != null) {
+                // Recorded in the same transaction, so a journal replay sees the fold and skips it
+                ingestTicketRepository.save(new IngestTicket(ingestTicket, folded.get().getId(), LocalDateTime.now()));
+            }
+            return folded.get();
+        }
+
         // Create incident entity
-        Incident incident = new Incident();
-        incident.setTitle(request.getTitle());
-        incident.setDescription(request.getDescription());
-        incident.setAffectedService(request.getAffectedService());
-        incident.setCreatedAt(LocalDateTime.now());
+        Incident incident = toIncident(request);
+        incident.setIngestTicket(ingestTicket);
+        incident.setOccurrenceCount(occurrences);
 
         // Process with AI logic
         incident = aiTriageService.processIncidentWithAI(incident);
+        incident.setOutageId(outageCorrelator.assign(incident));
 
         // Save to database
+        long start = System.nanoTime();
         incident = incidentRepository.save(incident);
+        metrics.recordSave(start);
+        duplicateIndex.register(incident.getAffectedService(), signature, incident.getId());
+        eventPublisher.publishEvent(new IncidentCreatedEvent(incident));
 
         // Convert to response DTO
-        return convertToResponse(incident);
+        return toResponse(incident);
     }
 
+    private Optional<IncidentResponse> foldIntoDuplicate(String affectedService, long signature, int occurrences) {
+        OptionalLong duplicateId = duplicateIndex.findDuplicate(affectedService, signature);
+        if (duplicateId.isEmpty()) {
+            return Optional.empty();
+        }
+
+        long id = duplicateId.getAsLong();
+        Optional<Incident> duplicate = incidentRepository.findByIdForUpdate(id);
+        if (duplicate.isEmpty()) {
+            // The indexed incident was never committed or has been removed
+            duplicateIndex.forget(affectedService, id);
+            return Optional.empty();
+        }
+
+        Incident incident = duplicate.get();
+        metrics.recordFolded();
+        incident.setOccurrenceCount(incident.getOccurrenceCount() + occurrences);
+        incident.setLastSeenAt(LocalDateTime.now());
+        outageCorrelator.extend(incident, incident.getLastSeenAt());
+        eventPublisher.publishEvent(new IncidentFoldedEvent(incident));
+        return Optional.of(toResponse(incident));
+    }
+
+    // Stops the escalation timer once committed; acknowledging again keeps the first time
+    public Optional<IncidentResponse> acknowledgeIncident(Long id) {
+        Optional<Incident> incident = incidentRepository.findByIdForUpdate(id);
+        incident.filter(found -> found.getAcknowledgedAt() == null).ifPresent(found -> {
+            found.setAcknowledgedAt(LocalDateTime.now());
+            eventPublisher.publishEvent(new IncidentAcknowledgedEvent(found));
+        });
+        return incident.map(this::toResponse);
+    }
+
+    @Transactional(readOnly = true)
     public List<IncidentResponse> getAllIncidents() {
-        return incidentRepository.findAll()
+        return incidentRepository.findProjectedBy(IncidentView.class)
+                .stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    // Newest first, without descriptions; severity and category are optional filters
+    @Transactional(readOnly = true)
+    public List<IncidentSummaryResponse> getIncidentSummaries(Severity severity, Category category) {
+        List<IncidentSummary> summaries;
+        if (severity != null && category != null) {
+            summaries = incidentRepository.findByAiSeverityAndAiCategoryOrderByCreatedAtDesc(
+                    severity, category, IncidentSummary.class);
+        } else if (severity != null) {
+            summaries = incidentRepository.findByAiSeverityOrderByCreatedAtDesc(severity, IncidentSummary.class);
+        } else if (category != null) {
+            summaries = incidentRepository.findByAiCategoryOrderByCreatedAtDesc(category, IncidentSummary.class);
+        } else {
+            summaries = incidentRepository.findByOrderByCreatedAtDesc(IncidentSummary.class);
+        }
+        return summaries.stream()
+                .map(IncidentService::convertToSummary)
+                .toList();
+    }
+
+    // Members of one outage, newest first
+    @Transactional(readOnly = true)
+    public List<IncidentSummaryResponse> getOutageIncidents(Long outageId) {
+        return incidentRepository.findByOutageIdOrderByCreatedAtDesc(outageId, IncidentSummary.class)
                 .stream()
-                .map(this::convertToResponse)
+                .map(IncidentService::convertToSummary)
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    public Map<String, Long> findIncidentIdsByIngestTicket(Collection<String> ingestTickets) {
+        Map<String, Long> ids = new HashMap<>();
+        for (Object[] row : incidentRepository.findIdsByIngestTicket(ingestTickets)) {
+            ids.put((String) row[0], (Long) row[1]);
+        }
+        if (ids.size() < ingestTickets.size()) {
+            for (IngestTicket folded : ingestTicketRepository.findAllById(ingestTickets)) {
+                ids.put(folded.getTicket(), folded.getIncidentId());
+            }
+        }
+        return ids;
+    }
+
+    // Folded tickets are only needed until the journal has applied their records
+    public int pruneFoldedTickets(LocalDateTime cutoff) {
+        return ingestTicketRepository.deleteCreatedBefore(cutoff);
+    }
+
+    // Loads the entity so that the second-level cache can serve it
+    @Transactional(readOnly = true)
     public Optional<IncidentResponse> getIncidentById(Long id) {
         return incidentRepository.findById(id)
-                .map(this::convertToResponse);
+                .map(this::toResponse);
     }
 
-    private IncidentResponse convertToResponse(Incident incident) {
+    private Incident toIncident(IncidentRequest request) {
+        Incident incident = new Incident();
+        incident.setTitle(request.getTitle());
+        incident.setDescription(request.getDescription());
+        incident.setAffectedService(request.getAffectedService());
+        incident.setCreatedAt(LocalDateTime.now());
+        incident.setLastSeenAt(incident.getCreatedAt());
+        return incident;
+    }
+
+    private IncidentResponse toResponse(Incident incident) {
+        long start = System.nanoTime();
+        IncidentResponse response = convertToResponse(incident);
+        metrics.recordConvert(start);
+        return response;
+    }
+
+    private IncidentResponse toResponse(IncidentView view) {
+        long start = System.nanoTime();
+        IncidentResponse response = convertToResponse(view);
+        metrics.recordConvert(start);
+        return response;
+    }
+
+    // Untimed, for exports that convert every row
+    static IncidentResponse convertToResponse(Incident incident) {
         IncidentResponse response = new IncidentResponse();
         response.setId(incident.getId());
         response.setTitle(incident.getTitle());
         response.setDescription(incident.getDescription());
         response.setAffectedService(incident.getAffectedService());
-        response.setAiSeverity(incident.getAiSeverity());
-        response.setAiCategory(incident.getAiCategory());
+        response.setAiSeverity(incident.getAiSeverity() == null ? null : incident.getAiSeverity().name());
+        response.setAiCategory(incident.getAiCategory() == null ? null : incident.getAiCategory().name());
         response.setAiSuggestedAction(incident.getAiSuggestedAction());
         response.setCreatedAt(incident.getCreatedAt());
+        response.setOccurrenceCount(incident.getOccurrenceCount());
+        response.setLastSeenAt(incident.getLastSeenAt());
+        response.setOutageId(incident.getOutageId());
+        response.setAcknowledgedAt(incident.getAcknowledgedAt());
+        response.setEscalatedAt(incident.getEscalatedAt());
         return response;
     }
 
+    static IncidentResponse convertToResponse(IncidentView view) {
+        IncidentResponse response = new IncidentResponse();
+        response.setId(view.id());
+        response.setTitle(view.title());
+        response.setDescription(view.description());
+        response.setAffectedService(view.affectedService());
+        response.setAiSeverity(view.aiSeverity() == null ? null : view.aiSeverity().name());
+        response.setAiCategory(view.aiCategory() == null ? null : view.aiCategory().name());
+        response.setAiSuggestedAction(Severity.suggestedActionFor(view.aiSeverity()));
+        response.setCreatedAt(view.createdAt());
+        response.setOccurrenceCount(view.occurrenceCount());
+        response.setLastSeenAt(view.lastSeenAt());
+        response.setOutageId(view.outageId());
+        response.setAcknowledgedAt(view.acknowledgedAt());
+        response.setEscalatedAt(view.escalatedAt());
+        return response;
+    }
+
+    static IncidentSummaryResponse convertToSummary(IncidentSummary summary) {
+        IncidentSummaryResponse response = new IncidentSummaryResponse();
+        response.setId(summary.id());
+        response.setTitle(summary.title());
+        response.setAffectedService(summary.affectedService());
+        response.setAiSeverity(summary.aiSeverity() == null ? null : summary.aiSeverity().name());
+        response.setAiCategory(summary.aiCategory() == null ? null : summary.aiCategory().name());
+        response.setAiSuggestedAction(Severity.suggestedActionFor(summary.aiSeverity()));
+        response.setCreatedAt(summary.createdAt());
+        response.setOccurrenceCount(summary.occurrenceCount());
+        response.setLastSeenAt(summary.lastSeenAt());
+        return response;
+    }
 
-    public List<IncidentResponse> getIncidentsBySeverity(String severity) {
-        return incidentRepository.findByAiSeverityOrderByCreatedAtDesc(severity)
+
+    @Cacheable(CacheConfig.INCIDENTS_BY_SEVERITY)
+    @Transactional(readOnly = true)
+    public List<IncidentResponse> getIncidentsBySeverity(Severity severity) {
+        return incidentRepository.findByAiSeverityOrderByCreatedAtDesc(severity, IncidentView.class)
                 .stream()
-                .map(this::convertToResponse)
+                .map(this::toResponse)
                 .toList();
     }
 
-    public List<IncidentResponse> getIncidentsByCategory(String category) {
-        return incidentRepository.findByAiCategoryOrderByCreatedAtDesc(category)
+    @Cacheable(CacheConfig.INCIDENTS_BY_CATEGORY)
+    @Transactional(readOnly = true)
+    public List<IncidentResponse> getIncidentsByCategory(Category category) {
+        return incidentRepository.findByAiCategoryOrderByCreatedAtDesc(category, IncidentView.class)
                 .stream()
-                .map(this::convertToResponse)
+                .map(this::toResponse)
                 .toList();
     }
 
+    // Archived months first, then hot rows; a row still present in both is served from the table
+    @Transactional(readOnly = true)
     public List<IncidentResponse> getIncidentsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return incidentRepository.findByCreatedAtBetween(startDate, endDate)
-                .stream()
-                .map(this::convertToResponse)
-                .toList();
+        List<IncidentView> hot = incidentRepository.findByCreatedAtBetween(startDate, endDate, IncidentView.class);
+        Set<Long> hotIds = hot.stream().map(IncidentView::id).collect(Collectors.toSet());
+
+        List<IncidentResponse> incidents = new ArrayList<>();
+        archive.forEach(startDate, endDate, incident -> {
+            if (!hotIds.contains(incident.getId())) {
+                incidents.add(toResponse(incident));
+            }
+        });
+        hot.forEach(view -> incidents.add(toResponse(view)));
+        return incidents;
     }
 
-    // Add statistics method
-    public Map<String, Long> getIncidentStatistics() {
-        List<Incident> allIncidents = incidentRepository.findAll();
+    // Reads keyset pages oldest first, each in its own short read-only transaction, so a slow
+    // client only ever holds a pooled connection for one page query and never while it drains.
+    // Archived months are streamed ahead of the hot table; like the date-range list, a row still
+    // present in both is only sent from the table.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamIncidents(LocalDateTime startDate, LocalDateTime endDate, Consumer<IncidentResponse> action) {
+        Set<Long> hotArchivedIds = hotArchivedIds();
+        archive.forEach(startDate, endDate, incident -> {
+            if (!hotArchivedIds.contains(incident.getId())) {
+                action.accept(convertToResponse(incident));
+            }
+        });
+        IncidentCursor cursor = null;
+        while (true) {
+            List<Specification<Incident>> filters = new ArrayList<>();
+            if (startDate != null) {
+                filters.add(IncidentSpecifications.createdBetween(startDate, endDate));
+            }
+            if (cursor != null) {
+                filters.add(IncidentSpecifications.newerThan(cursor));
+            }
+            List<Incident> page = incidentRepository.findBy(Specification.allOf(filters),
+                    query -> query.sortBy(OLDEST_FIRST).limit(exportPageSize).all());
+            for (Incident incident : page) {
+                action.accept(convertToResponse(incident));
+            }
+            if (page.size() < exportPageSize) {
+                return;
+            }
+            Incident last = page.get(page.size() - 1);
+            cursor = new IncidentCursor(last.getCreatedAt(), last.getId());
+        }
+    }
 
-        Map<String, Long> stats = new HashMap<>();
+    // Table rows of archived months, left behind when a retention delete failed; normally none
+    private Set<Long> hotArchivedIds() {
+        List<YearMonth> months = archive.months();
+        if (months.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(incidentRepository.findIdsCreatedInRange(months.get(0).atDay(1).atStartOfDay(),
+                months.get(months.size() - 1).plusMonths(1).atDay(1).atStartOfDay()));
+    }
 
-        // Count by severity
-        Map<String, Long> severityStats = allIncidents.stream()
-                .collect(Collectors.groupingBy(Incident::getAiSeverity, Collectors.counting()));
+    @Transactional(readOnly = true)
+    public IncidentPage searchIncidents(Severity severity, Category category, String affectedService,
+                                        IncidentCursor cursor, int pageSize) {
+        List<Specification<Incident>> filters = new ArrayList<>();
+        if (severity != null) {
+            filters.add(IncidentSpecifications.hasSeverity(severity));
+        }
+        if (category != null) {
+            filters.add(IncidentSpecifications.hasCategory(category));
+        }
+        if (affectedService != null) {
+            filters.add(IncidentSpecifications.affectedServiceContains(affectedService));
+        }
+        if (cursor != null) {
+            filters.add(IncidentSpecifications.olderThan(cursor));
+        }
 
-        // Count by category
-        Map<String, Long> categoryStats = allIncidents.stream()
-                .collect(Collectors.groupingBy(Incident::getAiCategory, Collectors.counting()));
+        // Fetch one extra row to learn whether another page exists
+        List<Incident> rows = incidentRepository.findBy(Specification.allOf(filters),
+                query -> query.sortBy(NEWEST_FIRST).limit(pageSize + 1).all());
 
-        stats.put("total_incidents", (long) allIncidents.size());
-        stats.put("high_severity", severityStats.getOrDefault("HIGH", 0L));
-        stats.put("medium_severity", severityStats.getOrDefault("MEDIUM", 0L));
-        stats.put("low_severity", severityStats.getOrDefault("LOW", 0L));
-        stats.put("database_issues", categoryStats.getOrDefault("DATABASE", 0L));
-        stats.put("network_issues", categoryStats.getOrDefault("NETWORK", 0L));
-        stats.put("application_issues", categoryStats.getOrDefault("APPLICATION", 0L));
-        stats.put("infrastructure_issues", categoryStats.getOrDefault("INFRASTRUCTURE", 0L));
+        List<IncidentResponse> items = rows.stream()
+                .limit(pageSize)
+                .map(this::toResponse)
+                .toList();
 
-        return stats;
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            Incident last = rows.get(pageSize - 1);
+            nextCursor = new IncidentCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new IncidentPage(items, nextCursor);
+    }
+
+    // Relevance-ranked full-text search; rows are loaded by id in rank order
+    @Transactional(readOnly = true)
+    public IncidentPage fullTextSearch(String text, Severity severity, Category category, String affectedService,
+                                       RelevanceCursor cursor, int pageSize) {
+        int offset = cursor == null ? 0 : cursor.offset();
+        IncidentSearchIndex.Hits hits;
+        try {
+            hits = searchIndex.search(text, severity, category, affectedService, offset, pageSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Map<Long, IncidentView> incidents = incidentRepository.findByIdIn(hits.ids(), IncidentView.class)
+                .stream()
+                .collect(Collectors.toMap(IncidentView::id, Function.identity()));
+        List<IncidentResponse> items = hits.ids().stream()
+                .map(incidents::get)
+                .filter(Objects::nonNull)
+                .map(this::toResponse)
+                .toList();
+
+        String nextCursor = hits.hasMore() ? new RelevanceCursor(offset + pageSize).encode() : null;
+        return new IncidentPage(items, nextCursor);
+    }
+
+    // Served from live counters instead of scanning the table
+    @Transactional(readOnly = true)
+    public Map<String, Long> getIncidentStatistics() {
+        return incidentCounters.snapshot();
     }
 
 }
@@ -0,0 +1,195 @@
+package com.incident.triage.service;
+
+import com.incident.triage.dto.IncidentResponse;
+import com.incident.triage.event.IncidentCreatedEvent;
+import com.incident.triage.model.Category;
+import com.incident.triage.model.Incident;
+import com.incident.triage.model.Severity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Fans committed incidents out to SSE subscribers. Publishing only enqueues into each
+// subscriber's bounded buffer; a virtual thread per busy subscriber does the blocking writes,
+// so one slow dashboard can never hold up ingest or the other subscribers.
+@Component
+public class IncidentStreamHub {
+
+    public enum OverflowPolicy { DROP_OLDEST, DISCONNECT }
+
+    // Null fields match everything; service matches as a case-insensitive substring
+    public record Filter(Severity severity, Category category, String affectedService) {
+
+        boolean matches(Incident incident) {
+            return (severity == null || severity == incident.getAiSeverity())
+                    && (category == null || category == incident.getAiCategory())
+                    && (affectedService == null || incident.getAffectedService().toLowerCase()
+                    .contains(affectedService.toLowerCase()));
+        }
+    }
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("incident-stream-", 0).factory());
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+    private final OverflowPolicy overflowPolicy;
+    private final Counter droppedEvents;
+
+    public IncidentStreamHub(MeterRegistry registry,
+                             @Value("${incident.stream.buffer-size:256}") int bufferSize,
+                             @Value("${incident.stream.max-subscribers:1000}") int maxSubscribers,
+                             @Value("${incident.stream.timeout:30m}") Duration timeout,
+                             @Value("${incident.stream.overflow:drop-oldest}") String overflowPolicy) {
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeout.toMillis();
+        this.overflowPolicy = OverflowPolicy.valueOf(overflowPolicy.toUpperCase().replace('-', '_'));
+        this.droppedEvents = Counter.builder("incident.stream.dropped")
+                .description("Events dropped for subscribers that fell behind")
+                .register(registry);
+        Gauge.builder("incident.stream.subscribers", subscribers, List::size)
+                .description("Open incident stream subscriptions")
+                .register(registry);
+    }
+
+    // Empty when the subscriber limit is reached
+    public Optional<SseEmitter> subscribe(Filter filter) {
+        if (subscribers.size() >= maxSubscribers) {
+            return Optional.empty();
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(filter, emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscribers.add(subscriber);
+        return Optional.of(emitter);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIncidentCreated(IncidentCreatedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Incident incident = event.incident();
+        IncidentResponse response = null;
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.filter.matches(incident)) {
+                if (response == null) {
+                    // Converted once and shared by every matching subscriber
+                    response = IncidentService.convertToResponse(incident);
+                }
+                subscriber.publish(response);
+            }
+        }
+    }
+
+    // Comments keep idle connections open through proxies and surface dead clients
+    @Scheduled(fixedDelayString = "${incident.stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue.set(true);
+            subscriber.signal();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        senders.shutdownNow();
+    }
+
+    private final class Subscriber {
+        private final Filter filter;
+        private final SseEmitter emitter;
+        private final BlockingQueue<IncidentResponse> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+        private final AtomicLong dropped = new AtomicLong();
+        private volatile boolean closed;
+
+        Subscriber(Filter filter, SseEmitter emitter) {
+            this.filter = filter;
+            this.emitter = emitter;
+        }
+
+        void publish(IncidentResponse response) {
+            while (!buffer.offer(response)) {
+                if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+                    droppedEvents.increment(buffer.size() + 1);
+                    close();
+                    emitter.complete();
+                    return;
+                }
+                if (buffer.poll() != null) {
+                    dropped.incrementAndGet();
+                    droppedEvents.increment();
+                }
+            }
+            signal();
+        }
+
+        void signal() {
+            if (!closed && draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                if (heartbeatDue.getAndSet(false)) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+                IncidentResponse response;
+                while (!closed && (response = buffer.poll()) != null) {
+                    long lost = dropped.getAndSet(0L);
+                    if (lost > 0) {
+                        // Tells the client it missed events and should resync from the REST API
+                        emitter.send(SseEmitter.event().name("dropped").data(lost));
+                    }
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(response.getId()))
+                            .name("incident")
+                            .data(response));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away or the emitter already completed
+                close();
+                return;
+            } finally {
+                draining.set(false);
+            }
+            if (!buffer.isEmpty() || heartbeatDue.get()) {
+                signal();
+            }
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.incident.triage.service;
+
+import com.incident.triage.archive.IncidentArchive;
+import com.incident.triage.dto.TrendBucket;
+import com.incident.triage.dto.TrendResponse;
+import com.incident.triage.event.IncidentCreatedEvent;
+import com.incident.triage.model.Category;
+import com.incident.triage.model.Incident;
+import com.incident.triage.model.Severity;
+import com.incident.triage.repository.IncidentRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+// Incident counts per time bucket, kept in one ring buffer per resolution and updated on the
+// create path, so a trend query reads one cell per bucket instead of scanning incident rows.
+// Buckets are aligned to UTC epoch multiples of their width, matching createdAt as stored.
+@Component
+public class IncidentTrends {
+
+    public enum Resolution {
+        MINUTE(60L),
+        HOUR(3_600L),
+        DAY(86_400L);
+
+        private final long seconds;
+
+        Resolution(long seconds) {
+            this.seconds = seconds;
+        }
+
+        public static Optional<Resolution> parse(String value) {
+            for (Resolution resolution : values()) {
+                if (resolution.name().equalsIgnoreCase(value)) {
+                    return Optional.of(resolution);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    // Services beyond the per-bucket limit are counted under this key
+    static final String OTHER_SERVICES = "(other)";
+
+    private final IncidentRepository incidentRepository;
+    private final IncidentArchive archive;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxServicesPerBucket;
+    private final Ring[] rings = new Ring[Resolution.values().length];
+
+    public IncidentTrends(IncidentRepository incidentRepository,
+                          IncidentArchive archive,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${incident.trends.minute-retention:24h}") Duration minuteRetention,
+                          @Value("${incident.trends.hour-retention:90d}") Duration hourRetention,
+                          @Value("${incident.trends.day-retention:400d}") Duration dayRetention,
+                          @Value("${incident.trends.max-services-per-bucket:1000}") int maxServicesPerBucket) {
+        this.incidentRepository = incidentRepository;
+        this.archive = archive;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.maxServicesPerBucket = maxServicesPerBucket;
+        rings[Resolution.MINUTE.ordinal()] = new Ring(Resolution.MINUTE, minuteRetention);
+        rings[Resolution.HOUR.ordinal()] = new Ring(Resolution.HOUR, hourRetention);
+        rings[Resolution.DAY.ordinal()] = new Ring(Resolution.DAY, dayRetention);
+    }
+
+    // Replays the longest retention window once; archived months are read only up to the
+    // oldest hot row, so a month caught between archive and delete is not counted twice
+    @PostConstruct
+    void rebuild() {
+        Duration longest = Duration.ZERO;
+        for (Ring ring : rings) {
+            longest = ring.retention.compareTo(longest) > 0 ? ring.retention : longest;
+        }
+        LocalDateTime since = LocalDateTime.now().minus(longest);
+
+        Optional<LocalDateTime> oldestHot = incidentRepository.findOldestCreatedAt();
+        LocalDateTime archivedUntil = oldestHot.map(time -> time.minusNanos(1)).orElse(LocalDateTime.now());
+        if (!archivedUntil.isBefore(since)) {
+            archive.forEach(since, archivedUntil, incident -> record(incident.getCreatedAt(),
+                    incident.getAiSeverity(), incident.getAiCategory(), incident.getAffectedService()));
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = incidentRepository.streamTrendRowsSince(since)) {
+                rows.forEach(row -> record((LocalDateTime) row[0], (Severity) row[1], (Category) row[2],
+                        (String) row[3]));
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIncidentCreated(IncidentCreatedEvent event) {
+        Incident incident = event.incident();
+        record(incident.getCreatedAt(), incident.getAiSeverity(), incident.getAiCategory(),
+                incident.getAffectedService());
+    }
+
+    public long bucketCount(Resolution resolution, LocalDateTime from, LocalDateTime to) {
+        return index(resolution, to) - index(resolution, from) + 1;
+    }
+
+    // One entry per bucket in [from, to], clipped to what the resolution still retains
+    public TrendResponse trends(Resolution resolution, LocalDateTime from, LocalDateTime to) {
+        Ring ring = rings[resolution.ordinal()];
+        long oldest = ring.oldestRetainedIndex(index(resolution, LocalDateTime.now()));
+        long first = Math.max(index(resolution, from), oldest);
+        long last = index(resolution, to);
+
+        List<TrendBucket> buckets = new ArrayList<>((int) Math.max(0L, last - first + 1));
+        for (long index = first; index <= last; index++) {
+            buckets.add(toTrendBucket(resolution, index, ring.get(index)));
+        }
+        return new TrendResponse(resolution.name(), from, to, start(resolution, oldest), buckets);
+    }
+
+    private void record(LocalDateTime createdAt, Severity severity, Category category, String affectedService) {
+        long epochSecond = createdAt.toEpochSecond(ZoneOffset.UTC);
+        for (Ring ring : rings) {
+            Bucket bucket = ring.bucketFor(Math.floorDiv(epochSecond, ring.resolution.seconds));
+            if (bucket != null) {
+                bucket.add(severity, category, affectedService, maxServicesPerBucket);
+            }
+        }
+    }
+
+    private TrendBucket toTrendBucket(Resolution resolution, long index, Bucket bucket) {
+        Map<String, Long> bySeverity = new HashMap<>();
+        for (Severity severity : Severity.values()) {
+            bySeverity.put(severity.name(), bucket == null ? 0L : bucket.bySeverity[severity.ordinal()].sum());
+        }
+        Map<String, Long> byCategory = new HashMap<>();
+        for (Category category : Category.values()) {
+            byCategory.put(category.name(), bucket == null ? 0L : bucket.byCategory[category.ordinal()].sum());
+        }
+        Map<String, Long> byService = new HashMap<>();
+        if (bucket != null) {
+            bucket.byService.forEach((service, count) -> byService.put(service, count.sum()));
+        }
+        return new TrendBucket(start(resolution, index), bucket == null ? 0L : bucket.total.sum(),
+                bySeverity, byCategory, byService);
+    }
+
+    private static long index(Resolution resolution, LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), resolution.seconds);
+    }
+
+    private static LocalDateTime start(Resolution resolution, long index) {
+        return LocalDateTime.ofEpochSecond(index * resolution.seconds, 0, ZoneOffset.UTC);
+    }
+
+    private static final class Ring {
+        final Resolution resolution;
+        final Duration retention;
+        final AtomicReferenceArray<Bucket> slots;
+
+        Ring(Resolution resolution, Duration retention) {
+            this.resolution = resolution;
+            this.retention = retention;
+            this.slots = new AtomicReferenceArray<>((int) Math.max(1L, retention.toSeconds() / resolution.seconds));
+        }
+
+        // Claims the slot for index, recycling it when it still holds an older bucket;
+        // null when index is older than the bucket already in the slot
+        Bucket bucketFor(long index) {
+            int slot = (int) Math.floorMod(index, (long) slots.length());
+            Bucket bucket = slots.get(slot);
+            while (bucket == null || bucket.index < index) {
+                Bucket fresh = new Bucket(index);
+                if (slots.compareAndSet(slot, bucket, fresh)) {
+                    return fresh;
+                }
+                bucket = slots.get(slot);
+            }
+            return bucket.index == index ? bucket : null;
+        }
+
+        Bucket get(long index) {
+            Bucket bucket = slots.get((int) Math.floorMod(index, (long) slots.length()));
+            return bucket != null && bucket.index == index ? bucket : null;
+        }
+
+        long oldestRetainedIndex(long currentIndex) {
+            return currentIndex - slots.length() + 1;
+        }
+    }
+
+    private static final class Bucket {
+        final long index;
+        final LongAdder total = new LongAdder();
+        // Indexed by enum ordinal
+        final LongAdder[] bySeverity = newAdders(Severity.values().length);
+        final LongAdder[] byCategory = newAdders(Category.values().length);
+        final ConcurrentMap<String, LongAdder> byService = new ConcurrentHashMap<>();
+
+        Bucket(long index) {
+            this.index = index;
+        }
+
+        void add(Severity severity, Category category, String affectedService, int maxServices) {
+            total.increment();
+            if (severity != null) {
+                bySeverity[severity.ordinal()].increment();
+            }
+            if (category != null) {
+                byCategory[category.ordinal()].increment();
+            }
+            LongAdder count = byService.get(affectedService);
+            if (count == null) {
+                // The limit is approximate under concurrent inserts, which is enough to bound memory
+                String key = byService.size() < maxServices ? affectedService : OTHER_SERVICES;
+                count = byService.computeIfAbsent(key, k -> new LongAdder());
+            }
+            count.increment();
+        }
+
+        private static LongAdder[] newAdders(int size) {
+            LongAdder[] adders = new LongAdder[size];
+            for (int i = 0; i < size; i++) {
+                adders[i] = new LongAdder();
+            }
+            return adders;
+        }
+    }
+}
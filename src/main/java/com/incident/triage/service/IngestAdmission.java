@@ -0,0 +1,284 @@
+package com.incident.triage.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.incident.triage.dto.IncidentRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+// Admission control in front of incident creation. Each affectedService and the whole
+// ingest path get a token bucket, kept as a GCRA theoretical arrival time in an AtomicLong,
+// so a decision is a CAS and never a lock. The global bucket is a single AtomicLong: striping it
+// would cap any one caller at its stripe's share of the rate.
+// In storm mode a service over its rate has its excess incidents counted and summarized
+// periodically as one incident instead of being persisted individually.
+// At most maxTrackedServices buckets are kept, and new names only get a bucket of their own at
+// newServiceRate; past that they share one overflow bucket, so inventing affectedService
+// values neither grows memory nor buys a fresh burst per name.
+@Component
+public class IngestAdmission {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestAdmission.class);
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    static final String OVERFLOW_SERVICE = "(other)";
+
+    public enum Outcome { ADMITTED, SUMMARIZED, REJECTED }
+
+    // retryAfterNanos is set for REJECTED only
+    public record Decision(Outcome outcome, long retryAfterNanos) {
+
+        private static final Decision ADMITTED = new Decision(Outcome.ADMITTED, 0L);
+        private static final Decision SUMMARIZED = new Decision(Outcome.SUMMARIZED, 0L);
+    }
+
+    private final IncidentService incidentService;
+    private final boolean enabled;
+    private final boolean stormEnabled;
+    private final RateLimit serviceLimit;
+    private final RateLimit globalLimit;
+    private final AtomicLong globalArrival;
+    private final RateLimit newServiceLimit;
+    private final AtomicLong newServiceArrival;
+    private final Cache<String, ServiceState> services;
+    private final ServiceState overflow;
+    private final Counter rejectedByService;
+    private final Counter rejectedGlobally;
+    private final Counter summarized;
+
+    public IngestAdmission(IncidentService incidentService, MeterRegistry registry,
+                           @Value("${incident.admission.enabled:false}") boolean enabled,
+                           @Value("${incident.admission.service.rate:50}") double serviceRate,
+                           @Value("${incident.admission.service.burst:200}") int serviceBurst,
+                           @Value("${incident.admission.global.rate:2000}") double globalRate,
+                           @Value("${incident.admission.global.burst:4000}") int globalBurst,
+                           @Value("${incident.admission.service.max-tracked:10000}") long maxTrackedServices,
+                           @Value("${incident.admission.service.new-rate:10}") double newServiceRate,
+                           @Value("${incident.admission.service.new-burst:100}") int newServiceBurst,
+                           @Value("${incident.admission.storm.enabled:true}") boolean stormEnabled) {
+        this.incidentService = incidentService;
+        this.enabled = enabled;
+        this.stormEnabled = stormEnabled;
+        this.serviceLimit = new RateLimit(serviceRate, serviceBurst);
+        this.globalLimit = new RateLimit(globalRate, globalBurst);
+        long now = System.nanoTime();
+        this.globalArrival = new AtomicLong(now);
+        this.newServiceLimit = new RateLimit(newServiceRate, newServiceBurst);
+        this.newServiceArrival = new AtomicLong(now);
+        this.overflow = new ServiceState(now);
+        // Counts held by an evicted service move to the overflow bucket's next summary
+        this.services = Caffeine.newBuilder()
+                .maximumSize(maxTrackedServices)
+                .<String, ServiceState>evictionListener((service, state, cause) -> {
+                    if (cause == RemovalCause.SIZE && state != null) {
+                        overflow.absorb(state);
+                    }
+                })
+                .build();
+
+        this.rejectedByService = Counter.builder("incident.admission.rejected")
+                .description("Incidents refused by admission control")
+                .tag("limit", "service")
+                .register(registry);
+        this.rejectedGlobally = Counter.builder("incident.admission.rejected")
+                .description("Incidents refused by admission control")
+                .tag("limit", "global")
+                .register(registry);
+        this.summarized = Counter.builder("incident.admission.summarized")
+                .description("Incidents held back by storm mode and counted into a summary incident")
+                .register(registry);
+        Gauge.builder("incident.admission.storms", this, IngestAdmission::activeStorms)
+                .description("Services with incidents waiting to be summarized")
+                .register(registry);
+    }
+
+    public Decision admit(IncidentRequest request) {
+        if (!enabled) {
+            return Decision.ADMITTED;
+        }
+
+        long now = System.nanoTime();
+        Decision byService = admitToService(request, now);
+        return byService != null ? byService : admitGlobally(now);
+    }
+
+    // One decision per batch element, in order. Once the global limit refuses an element the
+    // rest are refused with the same wait, without being charged to their service buckets.
+    public List<Decision> admitAll(List<IncidentRequest> requests) {
+        List<Decision> decisions = new ArrayList<>(requests.size());
+        if (!enabled) {
+            requests.forEach(request -> decisions.add(Decision.ADMITTED));
+            return decisions;
+        }
+
+        long now = System.nanoTime();
+        Decision globalRejection = null;
+        for (IncidentRequest request : requests) {
+            if (globalRejection != null) {
+                rejectedGlobally.increment();
+                decisions.add(globalRejection);
+                continue;
+            }
+            Decision decision = admitToService(request, now);
+            if (decision == null) {
+                decision = admitGlobally(now);
+                if (decision.outcome() == Outcome.REJECTED) {
+                    globalRejection = decision;
+                }
+            }
+            decisions.add(decision);
+        }
+        return decisions;
+    }
+
+    // Null when the service's bucket has room
+    private Decision admitToService(IncidentRequest request, long now) {
+        ServiceState state = serviceState(request.getAffectedService(), now);
+        long serviceWait = serviceLimit.tryAcquire(state.arrival, now);
+        if (serviceWait <= 0L) {
+            return null;
+        }
+        if (stormEnabled) {
+            state.hold(request);
+            summarized.increment();
+            return Decision.SUMMARIZED;
+        }
+        rejectedByService.increment();
+        return new Decision(Outcome.REJECTED, serviceWait);
+    }
+
+    private Decision admitGlobally(long now) {
+        long globalWait = globalLimit.tryAcquire(globalArrival, now);
+        if (globalWait > 0L) {
+            rejectedGlobally.increment();
+            return new Decision(Outcome.REJECTED, globalWait);
+        }
+        return Decision.ADMITTED;
+    }
+
+    // Persists one summary per storming service and forgets services whose buckets are full again.
+    // held is reset before anything else and put back whenever no summary is written, so a
+    // count is never dropped; hold() sets the sample first, so a nonzero count always has one.
+    @Scheduled(fixedDelayString = "${incident.admission.storm.summary-interval-ms:60000}")
+    public void summarizeStorms() {
+        long now = System.nanoTime();
+        List<Map.Entry<String, ServiceState>> entries = new ArrayList<>(services.asMap().entrySet());
+        entries.add(Map.entry(OVERFLOW_SERVICE, overflow));
+        for (Map.Entry<String, ServiceState> entry : entries) {
+            ServiceState state = entry.getValue();
+            long held = state.held.sumThenReset();
+            if (held > 0L) {
+                IncidentRequest sample = state.sample.get();
+                try {
+                    incidentService.createStormSummary(summaryOf(entry.getKey(), sample, held),
+                            (int) Math.min(held, Integer.MAX_VALUE));
+                } catch (RuntimeException e) {
+                    state.held.add(held);
+                    log.error("Failed to record storm summary for {} ({} incidents), retrying next interval",
+                            entry.getKey(), held, e);
+                }
+            } else if (state != overflow && serviceLimit.isIdle(state.arrival, now)
+                    && services.asMap().remove(entry.getKey(), state)) {
+                // A hold racing the removal lands in the overflow summary
+                overflow.absorb(state);
+            }
+        }
+    }
+
+    private ServiceState serviceState(String service, long now) {
+        ServiceState state = services.getIfPresent(service);
+        if (state != null) {
+            return state;
+        }
+        if (newServiceLimit.tryAcquire(newServiceArrival, now) > 0L) {
+            return overflow;
+        }
+        return services.get(service, s -> new ServiceState(now));
+    }
+
+    private static IncidentRequest summaryOf(String service, IncidentRequest sample, long held) {
+        String title = "Incident storm: " + held + " incidents held back from " + service;
+        String description = "Latest: " + sample.getTitle()
+                + (sample.getDescription() == null || sample.getDescription().isEmpty()
+                ? "" : " - " + sample.getDescription());
+        return new IncidentRequest(truncate(title, 255), truncate(description, 1000), service);
+    }
+
+    private static String truncate(String value, int length) {
+        return value.length() > length ? value.substring(0, length) : value;
+    }
+
+    private static double activeStorms(IngestAdmission admission) {
+        return admission.services.asMap().values().stream().filter(state -> state.held.sum() > 0L).count()
+                + (admission.overflow.held.sum() > 0L ? 1 : 0);
+    }
+
+    // GCRA: each admission pushes the theoretical arrival time out by one emission interval;
+    // a request is admitted while that stays within burst intervals of now
+    private static final class RateLimit {
+        final long emissionIntervalNanos;
+        final long burstNanos;
+
+        RateLimit(double ratePerSecond, int burst) {
+            if (ratePerSecond <= 0 || burst < 1) {
+                throw new IllegalArgumentException("incident.admission rates and bursts must be positive");
+            }
+            this.emissionIntervalNanos = Math.max(1L, (long) (NANOS_PER_SECOND / ratePerSecond));
+            this.burstNanos = emissionIntervalNanos * burst;
+        }
+
+        // 0 when admitted, otherwise the wait until a token is available
+        long tryAcquire(AtomicLong arrival, long now) {
+            while (true) {
+                long current = arrival.get();
+                long next = Math.max(current - now, 0L) + emissionIntervalNanos;
+                if (next > burstNanos) {
+                    return next - burstNanos;
+                }
+                if (arrival.compareAndSet(current, now + next)) {
+                    return 0L;
+                }
+            }
+        }
+
+        boolean isIdle(AtomicLong arrival, long now) {
+            return arrival.get() - now <= 0L;
+        }
+    }
+
+    private static final class ServiceState {
+        final AtomicLong arrival;
+        final LongAdder held = new LongAdder();
+        final AtomicReference<IncidentRequest> sample = new AtomicReference<>();
+
+        ServiceState(long now) {
+            this.arrival = new AtomicLong(now);
+        }
+
+        void hold(IncidentRequest request) {
+            sample.set(request);
+            held.increment();
+        }
+
+        void absorb(ServiceState evicted) {
+            IncidentRequest evictedSample = evicted.sample.get();
+            if (evictedSample != null) {
+                sample.set(evictedSample);
+            }
+            held.add(evicted.held.sumThenReset());
+        }
+    }
+}
@@ -0,0 +1,364 @@
+package com.incident.triage.service;
+
+import com.incident.triage.cluster.SnowflakeIds;
+import com.incident.triage.dto.OutageResponse;
+import com.incident.triage.event.IncidentCreatedEvent;
+import com.incident.triage.model.Category;
+import com.incident.triage.model.Incident;
+import com.incident.triage.model.Outage;
+import com.incident.triage.model.Severity;
+import com.incident.triage.repository.IncidentRepository;
+import com.incident.triage.repository.OutageRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Groups incidents into outages as they are created. One open window per (affectedService,
+// category) stays open while incidents keep arriving within the correlation window of the
+// previous one; an incident outside it opens a new outage. Assignment is a map lookup on
+// the create path. Member counts are applied after commit and written to the outages table
+// on a schedule, so a storm does not turn one outage row into a write hotspot.
+@Component
+public class OutageCorrelator {
+
+    private static final Logger log = LoggerFactory.getLogger(OutageCorrelator.class);
+    // Late after-commit members of a window that just closed are still counted for this long
+    private static final Duration RETIRE_GRACE = Duration.ofMinutes(1);
+
+    private record Key(String affectedService, Category category) {
+    }
+
+    private final OutageRepository outageRepository;
+    private final IncidentRepository incidentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SnowflakeIds ids;
+    private final int nodeId;
+    private final boolean enabled;
+    private final Duration window;
+    private final ConcurrentMap<Key, Window> openByKey = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Window> byOutageId = new ConcurrentHashMap<>();
+
+    public OutageCorrelator(OutageRepository outageRepository,
+                            IncidentRepository incidentRepository,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry registry,
+                            @Value("${incident.outages.enabled:true}") boolean enabled,
+                            @Value("${incident.outages.window:15m}") Duration window,
+                            @Value("${incident.cluster.node-id:0}") int nodeId) {
+        this.outageRepository = outageRepository;
+        this.incidentRepository = incidentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ids = new SnowflakeIds(nodeId);
+        this.nodeId = nodeId;
+        this.enabled = enabled;
+        this.window = window;
+        Gauge.builder("incident.outages.active", openByKey, Map::size)
+                .description("Outages still accepting incidents")
+                .register(registry);
+    }
+
+    // Reopens this node's outages that are still inside the window, recounting their members
+    @PostConstruct
+    void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime since = LocalDateTime.now().minus(window);
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Outage outage : outageRepository.findByLastIncidentAtAfter(since)) {
+                if (SnowflakeIds.nodeOf(outage.getId()) != nodeId) {
+                    continue;
+                }
+                outage.setMemberCount((int) incidentRepository.countByOutageId(outage.getId()));
+                Window restored = new Window(outage);
+                byOutageId.put(outage.getId(), restored);
+                openByKey.merge(restored.key, restored,
+                        (current, other) -> current.lastAssignedAt.isAfter(other.lastAssignedAt) ? current : other);
+            }
+        });
+    }
+
+    // Outage id for a triaged incident about to be saved; null when correlation is off
+    public Long assign(Incident incident) {
+        if (!enabled) {
+            return null;
+        }
+        LocalDateTime at = incident.getCreatedAt();
+        Window assigned = openByKey.compute(new Key(incident.getAffectedService(), incident.getAiCategory()),
+                (key, current) -> {
+                    if (current != null && current.accepts(at, window)) {
+                        current.touch(at);
+                        return current;
+                    }
+                    Window opened = new Window(ids.next(), key, incident.getTitle(), at);
+                    byOutageId.put(opened.outageId, opened);
+                    return opened;
+                });
+        return assigned.outageId;
+    }
+
+    // A folded repeat is still an alert for the outage, so it keeps the window open and moves
+    // lastIncidentAt; without this a storm of mostly folded alerts is split into several outages
+    public void extend(Incident folded, LocalDateTime at) {
+        if (!enabled || folded.getOutageId() == null) {
+            return;
+        }
+        Window member = byOutageId.get(folded.getOutageId());
+        if (member == null) {
+            return;
+        }
+        openByKey.computeIfPresent(member.key, (key, current) -> {
+            if (current == member) {
+                current.touch(at);
+            }
+            return current;
+        });
+        member.seen(at);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIncidentCreated(IncidentCreatedEvent event) {
+        // Other nodes count their own members
+        Incident incident = event.incident();
+        if (event.remote() || incident.getOutageId() == null) {
+            return;
+        }
+        Window member = byOutageId.get(incident.getOutageId());
+        if (member != null) {
+            member.addMember(incident.getAiSeverity(), incident.getCreatedAt());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${incident.outages.flush-interval-ms:5000}")
+    public void flush() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Window> flushed = new ArrayList<>();
+        List<Outage> rows = new ArrayList<>();
+        List<Window> expired = new ArrayList<>();
+        for (Window candidate : byOutageId.values()) {
+            Outage row = candidate.takeDirty();
+            if (row != null) {
+                flushed.add(candidate);
+                rows.add(row);
+            }
+            if (now.isAfter(candidate.lastAssignedAt.plus(window).plus(RETIRE_GRACE))) {
+                expired.add(candidate);
+            }
+        }
+
+        if (!rows.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> outageRepository.saveAll(rows));
+            } catch (RuntimeException e) {
+                flushed.forEach(Window::markDirty);
+                log.error("Failed to write {} outages", rows.size(), e);
+            }
+        }
+
+        // A window is only dropped once its last snapshot is stored; a failed write keeps it
+        // dirty, so it is retried on the next flush instead of being lost
+        for (Window candidate : expired) {
+            if (!candidate.isDirty()) {
+                byOutageId.remove(candidate.outageId, candidate);
+                openByKey.remove(candidate.key, candidate);
+            }
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    // Newest first; outages not yet written are served from their windows, which are also
+    // fresher than the stored row for outages still open on this node
+    public List<OutageResponse> outages(String affectedService, boolean activeOnly, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Outage> stored;
+        if (activeOnly) {
+            stored = outageRepository.findByLastIncidentAtAfter(now.minus(window));
+        } else if (affectedService != null) {
+            stored = outageRepository.findByAffectedServiceOrderByLastIncidentAtDesc(affectedService, Limit.of(limit));
+        } else {
+            stored = outageRepository.findAllByOrderByLastIncidentAtDesc(Limit.of(limit));
+        }
+
+        Map<Long, Outage> merged = new HashMap<>();
+        stored.forEach(outage -> merged.put(outage.getId(), outage));
+        for (Window open : byOutageId.values()) {
+            Outage snapshot = open.snapshot();
+            if (snapshot.getMemberCount() > 0) {
+                merged.put(snapshot.getId(), snapshot);
+            }
+        }
+
+        return merged.values().stream()
+                .filter(outage -> affectedService == null || affectedService.equals(outage.getAffectedService()))
+                .filter(outage -> !activeOnly || isActive(outage, now))
+                .sorted(Comparator.comparing(Outage::getLastIncidentAt).reversed())
+                .limit(limit)
+                .map(outage -> toResponse(outage, isActive(outage, now)))
+                .toList();
+    }
+
+    private boolean isActive(Outage outage, LocalDateTime now) {
+        return !now.isAfter(outage.getLastIncidentAt().plus(window));
+    }
+
+    private static OutageResponse toResponse(Outage outage, boolean active) {
+        OutageResponse response = new OutageResponse();
+        response.setId(outage.getId());
+        response.setAffectedService(outage.getAffectedService());
+        response.setAiCategory(outage.getCategory() == null ? null : outage.getCategory().name());
+        response.setAiSeverity(outage.getSeverity() == null ? null : outage.getSeverity().name());
+        response.setTitle(outage.getTitle());
+        response.setStartedAt(outage.getStartedAt());
+        response.setLastIncidentAt(outage.getLastIncidentAt());
+        response.setMemberCount(outage.getMemberCount());
+        response.setActive(active);
+        return response;
+    }
+
+    // lastAssignedAt drives correlation and is advanced on the create path; the counted
+    // fields only change once a member has committed
+    private static final class Window {
+        final long outageId;
+        final Key key;
+        final String title;
+        final LocalDateTime startedAt;
+        final ReentrantLock lock = new ReentrantLock();
+        volatile LocalDateTime lastAssignedAt;
+        private LocalDateTime lastIncidentAt;
+        private Severity severity;
+        private int members;
+        private boolean dirty;
+
+        Window(long outageId, Key key, String title, LocalDateTime startedAt) {
+            this.outageId = outageId;
+            this.key = key;
+            this.title = title;
+            this.startedAt = startedAt;
+            this.lastAssignedAt = startedAt;
+            this.lastIncidentAt = startedAt;
+        }
+
+        Window(Outage outage) {
+            this(outage.getId(), new Key(outage.getAffectedService(), outage.getCategory()), outage.getTitle(),
+                    outage.getStartedAt());
+            this.lastAssignedAt = outage.getLastIncidentAt();
+            this.lastIncidentAt = outage.getLastIncidentAt();
+            this.severity = outage.getSeverity();
+            this.members = outage.getMemberCount();
+        }
+
+        // Called inside the map's compute for this key
+        boolean accepts(LocalDateTime at, Duration window) {
+            return !at.isAfter(lastAssignedAt.plus(window));
+        }
+
+        void touch(LocalDateTime at) {
+            if (at.isAfter(lastAssignedAt)) {
+                lastAssignedAt = at;
+            }
+        }
+
+        void addMember(Severity memberSeverity, LocalDateTime at) {
+            lock.lock();
+            try {
+                members++;
+                if (at.isAfter(lastIncidentAt)) {
+                    lastIncidentAt = at;
+                }
+                // Lower ordinal is more severe
+                if (memberSeverity != null && (severity == null || memberSeverity.ordinal() < severity.ordinal())) {
+                    severity = memberSeverity;
+                }
+                dirty = true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void seen(LocalDateTime at) {
+            lock.lock();
+            try {
+                if (at.isAfter(lastIncidentAt)) {
+                    lastIncidentAt = at;
+                    dirty = true;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void markDirty() {
+            lock.lock();
+            try {
+                dirty = true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean isDirty() {
+            lock.lock();
+            try {
+                return dirty;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Outage takeDirty() {
+            lock.lock();
+            try {
+                if (!dirty) {
+                    return null;
+                }
+                dirty = false;
+                return snapshot();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Outage snapshot() {
+            lock.lock();
+            try {
+                Outage outage = new Outage();
+                outage.setId(outageId);
+                outage.setAffectedService(key.affectedService());
+                outage.setCategory(key.category());
+                outage.setSeverity(severity);
+                outage.setTitle(title);
+                outage.setStartedAt(startedAt);
+                outage.setLastIncidentAt(lastIncidentAt);
+                outage.setMemberCount(members);
+                return outage;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
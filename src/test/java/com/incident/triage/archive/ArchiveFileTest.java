@@ -0,0 +1,178 @@
+package com.incident.triage.archive;
+
+import com.incident.triage.model.Category;
+import com.incident.triage.model.Incident;
+import com.incident.triage.model.Severity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ArchiveFileTest {
+
+	private static final YearMonth MONTH = YearMonth.of(2025, 1);
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void roundTripsEveryColumnAcrossBlocks() throws IOException {
+		Path path = directory.resolve("incidents-2025-01.itca");
+		List<Incident> written = incidents(10_000);
+		try (ArchiveFile.Writer writer = new ArchiveFile.Writer(path, MONTH)) {
+			for (Incident incident : written) {
+				writer.add(incident);
+			}
+			writer.finish();
+		}
+
+		List<Incident> read = new ArrayList<>();
+		ArchiveFile.read(path, null, null, read::add);
+
+		assertEquals(written.size(), read.size());
+		for (int i = 0; i < written.size(); i++) {
+			assertEquals(written.get(i).toString(), read.get(i).toString());
+		}
+		assertNull(read.get(0).getLastSeenAt());
+		assertFalse(Files.exists(directory.resolve("incidents-2025-01.itca.tmp")));
+	}
+
+	@Test
+	void filtersByCreatedAtAndSummarizesFromFooter() throws IOException {
+		Path path = directory.resolve("incidents-2025-01.itca");
+		try (ArchiveFile.Writer writer = new ArchiveFile.Writer(path, MONTH)) {
+			for (Incident incident : incidents(9_000)) {
+				writer.add(incident);
+			}
+			writer.finish();
+		}
+
+		LocalDateTime start = MONTH.atDay(2).atStartOfDay();
+		LocalDateTime end = MONTH.atDay(2).atTime(23, 59, 59, 999_999_999);
+		List<Incident> read = new ArrayList<>();
+		ArchiveFile.read(path, start, end, read::add);
+		assertEquals(24 * 60, read.size());
+		assertEquals(start, read.get(0).getCreatedAt());
+
+		ArchiveFile.Summary summary = ArchiveFile.summary(path);
+		assertEquals(MONTH, summary.month());
+		assertEquals(9_000, summary.rows());
+		assertEquals(3_000, summary.bySeverityCode()[Severity.HIGH.getCode()]);
+		assertEquals(2_250, summary.byCategoryCode()[Category.NETWORK.getCode()]);
+	}
+
+	@Test
+	void readsVersionOneFilesWithTheirStoredActionColumn() throws IOException {
+		Path path = directory.resolve("incidents-2025-01.itca");
+		LocalDateTime createdAt = MONTH.atDay(3).atTime(10, 15, 30, 250);
+		writeVersionOne(path, createdAt);
+
+		List<Incident> read = new ArrayList<>();
+		ArchiveFile.read(path, null, null, read::add);
+
+		assertEquals(1, read.size());
+		Incident incident = read.get(0);
+		assertEquals(42L, incident.getId());
+		assertEquals(createdAt, incident.getCreatedAt());
+		assertEquals(Severity.HIGH, incident.getAiSeverity());
+		assertEquals(Category.DATABASE, incident.getAiCategory());
+		assertEquals("orders", incident.getAffectedService());
+		assertEquals("Primary database down", incident.getTitle());
+		// The stored action is skipped, not read into the description
+		assertEquals("Connections refused", incident.getDescription());
+		assertEquals(Severity.suggestedActionFor(Severity.HIGH), incident.getAiSuggestedAction());
+		assertNull(incident.getOutageId());
+		assertNull(incident.getAcknowledgedAt());
+		assertEquals(1, ArchiveFile.summary(path).rows());
+	}
+
+	// Version 1 layout, one row in one block: no outage or acknowledgement columns, and the
+	// suggested action stored between title and description
+	private static void writeVersionOne(Path path, LocalDateTime createdAt) throws IOException {
+		long second = createdAt.toEpochSecond(ZoneOffset.UTC);
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		try (DataOutputStream columns = new DataOutputStream(new DeflaterOutputStream(compressed))) {
+			columns.writeLong(42L);
+			columns.writeLong(second);
+			columns.writeInt(createdAt.getNano());
+			columns.writeLong(Long.MIN_VALUE);
+			columns.writeByte(Severity.HIGH.getCode());
+			columns.writeByte(Category.DATABASE.getCode());
+			columns.writeInt(1);
+			for (String value : List.of("orders", "Primary database down", "Page the DBA", "Connections refused")) {
+				byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+				columns.writeInt(bytes.length);
+				columns.write(bytes);
+			}
+		}
+
+		ByteArrayOutputStream footerBytes = new ByteArrayOutputStream();
+		try (DataOutputStream footer = new DataOutputStream(footerBytes)) {
+			footer.writeInt(1);
+			footer.writeLong(1L);
+			footer.writeInt(Severity.values().length);
+			for (Severity severity : Severity.values()) {
+				footer.writeLong(severity == Severity.HIGH ? 1L : 0L);
+			}
+			footer.writeInt(Category.values().length);
+			for (Category category : Category.values()) {
+				footer.writeLong(category == Category.DATABASE ? 1L : 0L);
+			}
+		}
+
+		try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(path))) {
+			out.writeInt(0x49544341);
+			out.writeInt(1);
+			out.writeInt(MONTH.getYear());
+			out.writeInt(MONTH.getMonthValue());
+			out.writeInt(1);
+			out.writeLong(second);
+			out.writeLong(second);
+			out.writeInt(compressed.size());
+			compressed.writeTo(out);
+			footerBytes.writeTo(out);
+			out.writeInt(footerBytes.size());
+			out.writeInt(0x49544341);
+		}
+	}
+
+	// One incident per minute from the start of the month
+	private static List<Incident> incidents(int count) {
+		Severity[] severities = Severity.values();
+		Category[] categories = Category.values();
+		List<Incident> incidents = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			Incident incident = new Incident();
+			incident.setId(1_000L + i * 3L);
+			incident.setTitle("Incident " + i + " – Größe");
+			incident.setDescription(i % 7 == 0 ? null : "Description " + i);
+			incident.setAffectedService("service-" + (i % 11));
+			incident.setAiSeverity(severities[i % severities.length]);
+			incident.setAiCategory(categories[i % categories.length]);
+			incident.setCreatedAt(MONTH.atDay(1).atStartOfDay().plusMinutes(i).plusNanos(i % 5 * 1_000));
+			incident.setOccurrenceCount(1 + i % 4);
+			incident.setLastSeenAt(i == 0 ? null : incident.getCreatedAt().plusSeconds(i % 60));
+			incident.setOutageId(i % 3 == 0 ? null : 500_000L + i / 10);
+			incident.setAcknowledgedAt(i % 2 == 0 ? null : incident.getCreatedAt().plusMinutes(5).plusNanos(i));
+			incident.setEscalatedAt(i % 5 == 0 ? incident.getCreatedAt().plusMinutes(15) : null);
+			incidents.add(incident);
+		}
+		return incidents;
+	}
+
+}
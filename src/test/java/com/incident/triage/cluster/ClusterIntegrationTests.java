@@ -0,0 +1,150 @@
+package com.incident.triage.cluster;
+
+import com.incident.triage.IncidentTriageApplication;
+import com.incident.triage.dto.IncidentRequest;
+import com.incident.triage.dto.IncidentResponse;
+import com.incident.triage.model.Severity;
+import com.incident.triage.service.IncidentService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Two application instances in one JVM against a shared in-memory H2 database standing in
+// for PostgreSQL. Feeds are polled by hand rather than on their schedule.
+class ClusterIntegrationTests {
+
+	private static ConfigurableApplicationContext nodeA;
+	private static ConfigurableApplicationContext nodeB;
+
+	@BeforeAll
+	static void startNodes() {
+		nodeA = start(1);
+		nodeB = start(2);
+	}
+
+	@AfterAll
+	static void stopNodes() {
+		nodeB.close();
+		nodeA.close();
+	}
+
+	@Test
+	void incidentsCreatedOnOneNodeReachTheOthersDerivedState() {
+		IncidentService serviceA = nodeA.getBean(IncidentService.class);
+		IncidentService serviceB = nodeB.getBean(IncidentService.class);
+		ClusterChangeFeed feedB = nodeB.getBean(ClusterChangeFeed.class);
+		// Picks up what other tests created on node A first
+		feedB.poll();
+		long totalBefore = serviceB.getIncidentStatistics().get("total_incidents");
+		// Caches every severity list on node B before the create
+		Map<Severity, Integer> listSizes = new EnumMap<>(Severity.class);
+		for (Severity severity : Severity.values()) {
+			listSizes.put(severity, serviceB.getIncidentsBySeverity(severity).size());
+		}
+
+		IncidentResponse created = serviceA.createIncident(new IncidentRequest(
+				"Payment gateway is down", "Critical outage, all checkouts failing", "cluster-payments"));
+		assertEquals(1, SnowflakeIds.nodeOf(created.getId()));
+
+		feedB.poll();
+		feedB.poll();
+
+		assertEquals(totalBefore + 1, serviceB.getIncidentStatistics().get("total_incidents"));
+		Severity severity = Severity.valueOf(created.getAiSeverity());
+		List<IncidentResponse> listAfter = serviceB.getIncidentsBySeverity(severity);
+		assertEquals(listSizes.get(severity) + 1, listAfter.size());
+		assertTrue(listAfter.stream().anyMatch(incident -> incident.getId().equals(created.getId())));
+	}
+
+	@Test
+	void anIncidentCommittedLateIsStillPickedUp() throws Exception {
+		IncidentService serviceA = nodeA.getBean(IncidentService.class);
+		IncidentService serviceB = nodeB.getBean(IncidentService.class);
+		ClusterChangeFeed feedB = nodeB.getBean(ClusterChangeFeed.class);
+		TransactionTemplate transactionA = new TransactionTemplate(nodeA.getBean(PlatformTransactionManager.class));
+		feedB.poll();
+		long totalBefore = serviceB.getIncidentStatistics().get("total_incidents");
+
+		// The slow transaction creates its incident first but commits after a later one was polled
+		CountDownLatch created = new CountDownLatch(1);
+		CountDownLatch commit = new CountDownLatch(1);
+		CompletableFuture<Void> slow = CompletableFuture.runAsync(() -> transactionA.executeWithoutResult(status -> {
+			serviceA.createIncident(new IncidentRequest("Slow batch import", "Large import", "cluster-slow"));
+			created.countDown();
+			try {
+				commit.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}));
+		created.await();
+		serviceA.createIncident(new IncidentRequest("Quick alert", "Short transaction", "cluster-quick"));
+		feedB.poll();
+		assertEquals(totalBefore + 1, serviceB.getIncidentStatistics().get("total_incidents"));
+
+		commit.countDown();
+		slow.get();
+		feedB.poll();
+		assertEquals(totalBefore + 2, serviceB.getIncidentStatistics().get("total_incidents"));
+	}
+
+	@Test
+	void acknowledgingOnOneNodeEvictsTheOthersListCache() {
+		IncidentService serviceA = nodeA.getBean(IncidentService.class);
+		IncidentService serviceB = nodeB.getBean(IncidentService.class);
+		ClusterChangeFeed feedB = nodeB.getBean(ClusterChangeFeed.class);
+		IncidentResponse created = serviceA.createIncident(new IncidentRequest(
+				"Login service unreachable", "Critical outage for all users", "cluster-login"));
+		feedB.poll();
+		Severity severity = Severity.valueOf(created.getAiSeverity());
+		assertTrue(serviceB.getIncidentsBySeverity(severity).stream()
+				.anyMatch(incident -> incident.getId().equals(created.getId()) && incident.getAcknowledgedAt() == null));
+
+		serviceA.acknowledgeIncident(created.getId());
+		feedB.poll();
+
+		assertTrue(serviceB.getIncidentsBySeverity(severity).stream()
+				.anyMatch(incident -> incident.getId().equals(created.getId()) && incident.getAcknowledgedAt() != null));
+	}
+
+	@Test
+	void nodesGenerateDistinctIdsWithoutCoordination() {
+		IncidentResponse fromA = nodeA.getBean(IncidentService.class).createIncident(
+				new IncidentRequest("Disk filling on build agent", "Warning on agent 7", "cluster-builds-a"));
+		IncidentResponse fromB = nodeB.getBean(IncidentService.class).createIncident(
+				new IncidentRequest("Disk filling on build agent", "Warning on agent 7", "cluster-builds-b"));
+
+		assertEquals(1, SnowflakeIds.nodeOf(fromA.getId()));
+		assertEquals(2, SnowflakeIds.nodeOf(fromB.getId()));
+		assertTrue(nodeB.getBean(IncidentService.class).getIncidentById(fromA.getId()).isPresent());
+	}
+
+	// Command-line args, so they take precedence over application.properties
+	private static ConfigurableApplicationContext start(int nodeId) {
+		return new SpringApplicationBuilder(IncidentTriageApplication.class)
+				.web(WebApplicationType.NONE)
+				.run(
+						"--spring.datasource.url=jdbc:h2:mem:cluster_test;DB_CLOSE_DELAY=-1",
+						"--spring.jpa.hibernate.ddl-auto=update",
+						"--spring.jpa.show-sql=false",
+						// Both nodes would otherwise share one JCache manager inside this JVM
+						"--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+						"--incident.cluster.enabled=true",
+						"--incident.cluster.node-id=" + nodeId,
+						"--incident.cluster.poll-interval-ms=3600000");
+	}
+}
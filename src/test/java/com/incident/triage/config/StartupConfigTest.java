@@ -0,0 +1,35 @@
+package com.incident.triage.config;
+
+import com.incident.triage.controller.IncidentController;
+import com.incident.triage.escalation.EscalationScheduler;
+import com.incident.triage.service.AsyncIngestService;
+import com.incident.triage.service.IncidentMetrics;
+import com.incident.triage.service.IncidentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StartupConfigTest {
+
+	private final LazyInitializationExcludeFilter filter = StartupConfig.backgroundWorkBeans();
+
+	@Test
+	void keepsBeansWithBackgroundWorkEager() {
+		assertTrue(eager(EscalationScheduler.class));   // @Scheduled
+		assertTrue(eager(IncidentMetrics.class));       // event listener
+		assertTrue(eager(AsyncIngestService.class));    // journal replay in @PostConstruct
+	}
+
+	@Test
+	void leavesRequestPathBeansLazy() {
+		assertFalse(eager(IncidentController.class));
+		assertFalse(eager(IncidentService.class));
+	}
+
+	private boolean eager(Class<?> type) {
+		return filter.isExcluded(type.getSimpleName(), new RootBeanDefinition(type), type);
+	}
+}
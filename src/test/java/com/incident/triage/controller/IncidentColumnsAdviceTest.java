@@ -0,0 +1,50 @@
+package com.incident.triage.controller;
+
+import com.incident.triage.dto.IncidentColumns;
+import com.incident.triage.dto.IncidentResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IncidentColumnsAdviceTest {
+
+	@Test
+	void sendsRepeatedValuesOnceAndTimestampsAsOffsets() {
+		LocalDateTime base = LocalDateTime.of(2025, 3, 1, 12, 0);
+		IncidentResponse first = incident(1L, "checkout", "HIGH", "INFRASTRUCTURE", base);
+		IncidentResponse second = incident(2L, "search", "LOW", "INFRASTRUCTURE", base.minusSeconds(90));
+		IncidentResponse third = incident(3L, "checkout", null, "NETWORK", base.minusMinutes(5));
+		third.setLastSeenAt(base);
+
+		IncidentColumns columns = IncidentColumnsAdvice.toColumns(List.of(first, second, third), "next");
+
+		assertEquals(3, columns.getCount());
+		assertEquals(base, columns.getTimeBase());
+		assertEquals(List.of("checkout", "search"), columns.getAffectedServices());
+		assertArrayEquals(new int[] {0, 1, 0}, columns.getAffectedService());
+		assertEquals(Arrays.asList("HIGH", "LOW", null), columns.getAiSeverities());
+		assertEquals("Immediate escalation", columns.getAiSuggestedActions().get(0));
+		assertArrayEquals(new int[] {0, 1, 2}, columns.getAiSeverity());
+		assertEquals(List.of("INFRASTRUCTURE", "NETWORK"), columns.getAiCategories());
+		assertArrayEquals(new long[] {0, -90_000, -300_000}, columns.getCreatedAt());
+		assertArrayEquals(new Long[] {null, null, 0L}, columns.getLastSeenAt());
+		assertEquals("next", columns.getNextCursor());
+	}
+
+	private static IncidentResponse incident(Long id, String service, String severity, String category,
+			LocalDateTime createdAt) {
+		IncidentResponse incident = new IncidentResponse();
+		incident.setId(id);
+		incident.setAffectedService(service);
+		incident.setAiSeverity(severity);
+		incident.setAiSuggestedAction(severity == null ? null : severity.equals("HIGH") ? "Immediate escalation" : "Backlog");
+		incident.setAiCategory(category);
+		incident.setCreatedAt(createdAt);
+		return incident;
+	}
+}
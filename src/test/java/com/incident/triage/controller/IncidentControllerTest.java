@@ -0,0 +1,98 @@
+package com.incident.triage.controller;
+
+import com.incident.triage.dto.IncidentBatchRequest;
+import com.incident.triage.dto.IncidentRequest;
+import com.incident.triage.dto.IncidentResponse;
+import com.incident.triage.service.IncidentExportService;
+import com.incident.triage.service.IncidentService;
+import com.incident.triage.service.IncidentTrends;
+import com.incident.triage.service.IngestAdmission;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class IncidentControllerTest {
+
+	private static final IngestAdmission.Decision ADMITTED = new IngestAdmission.Decision(IngestAdmission.Outcome.ADMITTED, 0L);
+	private static final IngestAdmission.Decision SUMMARIZED = new IngestAdmission.Decision(IngestAdmission.Outcome.SUMMARIZED, 0L);
+	private static final IngestAdmission.Decision REJECTED = new IngestAdmission.Decision(IngestAdmission.Outcome.REJECTED, 2_500_000_000L);
+
+	private final IncidentService incidentService = mock(IncidentService.class);
+	private final IngestAdmission admission = mock(IngestAdmission.class);
+	private final Validator validator = mock(Validator.class);
+	private final IncidentController controller = new IncidentController(incidentService,
+			mock(IncidentExportService.class), mock(IncidentTrends.class), admission, validator, 3, 500, 10_000, 5000);
+
+	@Test
+	void refusesAnOversizedBatchBeforeValidatingIt() {
+		ResponseEntity<List<IncidentResponse>> response = controller.createIncidents(new IncidentBatchRequest(requests(4)));
+
+		assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, response.getStatusCode());
+		verifyNoInteractions(validator, admission);
+		verify(incidentService, never()).createIncidents(anyList());
+	}
+
+	@Test
+	void refusesABatchWithAnInvalidIncident() {
+		Validator real = Validation.buildDefaultValidatorFactory().getValidator();
+		IncidentController validating = new IncidentController(incidentService,
+				mock(IncidentExportService.class), mock(IncidentTrends.class), admission, real, 3, 500, 10_000, 5000);
+		List<IncidentRequest> incidents = requests(2);
+		incidents.get(1).setTitle(" ");
+
+		ResponseEntity<List<IncidentResponse>> response = validating.createIncidents(new IncidentBatchRequest(incidents));
+
+		assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+		verify(incidentService, never()).createIncidents(anyList());
+	}
+
+	@Test
+	void createsOnlyAdmittedIncidentsAndCountsTheRest() {
+		List<IncidentRequest> incidents = requests(3);
+		when(admission.admitAll(incidents)).thenReturn(List.of(ADMITTED, SUMMARIZED, REJECTED));
+		when(incidentService.createIncidents(any())).thenReturn(List.of(new IncidentResponse()));
+
+		ResponseEntity<List<IncidentResponse>> response = controller.createIncidents(new IncidentBatchRequest(incidents));
+
+		assertEquals(HttpStatus.CREATED, response.getStatusCode());
+		assertEquals(1, response.getBody().size());
+		verify(incidentService).createIncidents(List.of(incidents.get(0)));
+		assertEquals("1", response.getHeaders().getFirst("X-Incidents-Summarized"));
+		assertEquals("1", response.getHeaders().getFirst("X-Incidents-Rejected"));
+		assertEquals("3", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+	}
+
+	@Test
+	void answers429WhenEveryIncidentIsRefused() {
+		List<IncidentRequest> incidents = requests(2);
+		when(admission.admitAll(incidents)).thenReturn(List.of(REJECTED, REJECTED));
+
+		ResponseEntity<List<IncidentResponse>> response = controller.createIncidents(new IncidentBatchRequest(incidents));
+
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+		verify(incidentService, never()).createIncidents(anyList());
+	}
+
+	private static List<IncidentRequest> requests(int count) {
+		List<IncidentRequest> requests = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			requests.add(new IncidentRequest("Incident " + i, "Description " + i, "service-" + i));
+		}
+		return requests;
+	}
+}
@@ -0,0 +1,104 @@
+package com.incident.triage.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.incident.triage.dto.IncidentRequest;
+import com.incident.triage.dto.IncidentResponse;
+import com.incident.triage.service.IncidentService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Subscribes over HTTP, so the SSE framing and the filter are exercised end to end
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class IncidentStreamTests {
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private IncidentService incidentService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private final HttpClient client = HttpClient.newHttpClient();
+
+	@Test
+	void pushesOnlyCommittedIncidentsMatchingTheFilter() throws Exception {
+		// Headers are only flushed with the first event, so wait for the subscription itself
+		CompletableFuture<HttpResponse<InputStream>> pending = client.sendAsync(
+				request("?affectedService=Stream-Payments"), HttpResponse.BodyHandlers.ofInputStream());
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (meterRegistry.get("incident.stream.subscribers").gauge().value() < 1 && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+
+		incidentService.createIncident(new IncidentRequest(
+				"Search cluster is red", "Two data nodes left the cluster", "stream-search"));
+		IncidentResponse matching = incidentService.createIncident(new IncidentRequest(
+				"Card authorisations failing", "Acquirer returns timeouts", "stream-payments-eu"));
+
+		HttpResponse<InputStream> response = pending.get(10, TimeUnit.SECONDS);
+		assertEquals(200, response.statusCode());
+		try (BufferedReader events = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+			JsonNode pushed = CompletableFuture.supplyAsync(() -> nextIncident(events)).get(10, TimeUnit.SECONDS);
+			assertEquals(matching.getId(), pushed.get("id").asLong());
+			assertEquals("stream-payments-eu", pushed.get("affectedService").asText());
+		}
+	}
+
+	@Test
+	void refusesAnUnknownSeverity() throws Exception {
+		HttpResponse<Void> response = client.send(request("?severity=URGENT"), HttpResponse.BodyHandlers.discarding());
+
+		assertEquals(400, response.statusCode());
+	}
+
+	private HttpRequest request(String query) {
+		return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/incidents/stream" + query))
+				.header("Accept", "text/event-stream")
+				.timeout(Duration.ofSeconds(10))
+				.build();
+	}
+
+	// Data of the next "incident" event; heartbeats and other events are skipped
+	private JsonNode nextIncident(BufferedReader events) {
+		try {
+			String event = null;
+			String line;
+			while ((line = events.readLine()) != null) {
+				if (line.startsWith("event:")) {
+					event = line.substring("event:".length()).trim();
+				} else if (line.startsWith("data:") && "incident".equals(event)) {
+					return objectMapper.readTree(line.substring("data:".length()));
+				} else if (line.isEmpty()) {
+					event = null;
+				}
+			}
+			throw new IllegalStateException("Stream ended without an incident event");
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,42 @@
+package com.incident.triage.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class KeywordMatcherTest {
+
+	private final KeywordMatcher matcher = KeywordMatcher.compile(
+			new String[]{"down", "outage"},
+			new String[]{"slow", "error"},
+			new String[]{"disk", "größe"});
+
+	@Test
+	void highestPriorityTierWins() {
+		assertEquals(0, matcher.firstMatch("slow responses, then the service went DOWN", ""));
+		assertEquals(1, matcher.firstMatch("Slow responses", "disk alarm"));
+	}
+
+	@Test
+	void matchesAcrossBothTexts() {
+		assertEquals(2, matcher.firstMatch("", "Disk nearly full"));
+		assertEquals(0, matcher.firstMatch("error rate rising", "Partial OUTAGE"));
+	}
+
+	@Test
+	void followsFailureLinksForOverlappingKeywords() {
+		assertEquals(0, matcher.firstMatch("outoutage", ""));
+		assertEquals(1, matcher.firstMatch("sslow", null));
+	}
+
+	@Test
+	void foldsCaseOutsideAscii() {
+		assertEquals(2, matcher.firstMatch("Maximale GRÖßE erreicht", "n/a"));
+	}
+
+	@Test
+	void returnsMinusOneWithoutMatch() {
+		assertEquals(-1, matcher.firstMatch("all good", "frontend-ui"));
+	}
+
+}
@@ -0,0 +1,55 @@
+package com.incident.triage.escalation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest {
+
+	@Test
+	void firesEveryTimerWithinOneTickOfItsDeadlineAcrossLevels() {
+		// 8 slots over 4 levels spans 4096 ticks; later deadlines exercise the overflow path
+		TimingWheel<Integer> wheel = new TimingWheel<>(10, 8, 0);
+		SplittableRandom random = new SplittableRandom(7);
+		long[] deadlines = new long[2000];
+		for (int i = 0; i < deadlines.length; i++) {
+			deadlines[i] = random.nextLong(100_000);
+			wheel.schedule(i, deadlines[i]);
+		}
+
+		List<Integer> fired = new ArrayList<>();
+		for (long now = 0; now <= 100_010; now += 7) {
+			long at = now;
+			wheel.advance(now, i -> {
+				long lateness = at - deadlines[i];
+				assertTrue(lateness >= 0 && lateness < 17, "timer " + i + " fired " + lateness + " ms late");
+				fired.add(i);
+			});
+		}
+
+		assertEquals(deadlines.length, fired.size());
+		assertEquals(0, wheel.size());
+	}
+
+	@Test
+	void cancelledTimersNeverFireAndPastDeadlinesFireOnTheNextAdvance() {
+		TimingWheel<String> wheel = new TimingWheel<>(1000, 512, 0);
+		TimingWheel.Timer<String> acknowledged = wheel.schedule("acknowledged", 60_000);
+		wheel.schedule("escalated", 60_000);
+		wheel.schedule("overdue", -5_000);
+
+		assertTrue(wheel.cancel(acknowledged));
+		List<String> fired = new ArrayList<>();
+		wheel.advance(1_000, fired::add);
+		assertEquals(List.of("overdue"), fired);
+
+		wheel.advance(60_000, fired::add);
+		assertEquals(List.of("overdue", "escalated"), fired);
+		assertEquals(0, wheel.size());
+	}
+}
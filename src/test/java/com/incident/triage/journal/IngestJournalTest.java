@@ -0,0 +1,167 @@
+package com.incident.triage.journal;
+
+import com.incident.triage.dto.IncidentRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IngestJournalTest {
+
+	// Every test record has the same ticket length and fields, so all records are this long
+	private static final int RECORD_BYTES = JournalSegment.HEADER_BYTES
+			+ JournalSegment.encode(UUID.randomUUID().toString(), request(0)).length;
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void replaysUnappliedEntriesAfterEveryRestartUntilApplied() throws IOException {
+		IngestJournal journal = open(DataSize.ofKilobytes(64));
+		for (int i = 1; i <= 3; i++) {
+			assertEquals(i, journal.append(UUID.randomUUID().toString(), request(i)));
+		}
+		journal.markApplied(1);
+		journal.close();
+
+		journal = open(DataSize.ofKilobytes(64));
+		assertEquals(List.of(2L, 3L), sequences(journal.takeUnapplied()));
+		// Restarted again before the replay applied anything
+		journal.close();
+
+		journal = open(DataSize.ofKilobytes(64));
+		List<JournalEntry> replayed = journal.takeUnapplied();
+		assertEquals(List.of(2L, 3L), sequences(replayed));
+		assertEquals("incident 2", replayed.get(0).request().getTitle());
+		assertEquals(4, journal.append(UUID.randomUUID().toString(), request(4)));
+		journal.markApplied(2);
+		journal.markApplied(3);
+		journal.close();
+
+		journal = open(DataSize.ofKilobytes(64));
+		assertEquals(List.of(4L), sequences(journal.takeUnapplied()));
+		journal.close();
+	}
+
+	@Test
+	void stopsReplayAtChecksumMismatch() throws IOException {
+		IngestJournal journal = open(DataSize.ofKilobytes(64));
+		for (int i = 1; i <= 3; i++) {
+			journal.append(UUID.randomUUID().toString(), request(i));
+		}
+		journal.close();
+
+		// Flip one payload byte of the second record
+		corrupt(recordSegment(), RECORD_BYTES + JournalSegment.HEADER_BYTES + 20, 1);
+
+		journal = open(DataSize.ofKilobytes(64));
+		assertEquals(List.of(1L), sequences(journal.takeUnapplied()));
+		// The torn segment is never appended to; the next record starts a fresh one
+		assertEquals(2, journal.append(UUID.randomUUID().toString(), request(2)));
+		journal.close();
+
+		journal = open(DataSize.ofKilobytes(64));
+		assertEquals(List.of(1L, 2L), sequences(journal.takeUnapplied()));
+		journal.close();
+	}
+
+	@Test
+	void ignoresTornTail() throws IOException {
+		IngestJournal journal = open(DataSize.ofKilobytes(64));
+		for (int i = 1; i <= 3; i++) {
+			journal.append(UUID.randomUUID().toString(), request(i));
+		}
+		journal.close();
+
+		// The last write only reached the disk up to its header and part of the payload
+		int tornAt = 2 * RECORD_BYTES + JournalSegment.HEADER_BYTES + 10;
+		corrupt(recordSegment(), tornAt, 3 * RECORD_BYTES - tornAt);
+
+		journal = open(DataSize.ofKilobytes(64));
+		assertEquals(List.of(1L, 2L), sequences(journal.takeUnapplied()));
+		journal.close();
+	}
+
+	@Test
+	void rotatesFullSegmentsAndReplaysAcrossThem() throws IOException {
+		IngestJournal journal = open(DataSize.ofBytes(2L * RECORD_BYTES));
+		for (int i = 1; i <= 5; i++) {
+			journal.append(UUID.randomUUID().toString(), request(i));
+		}
+		journal.close();
+		assertEquals(3, segments().size());
+
+		journal = open(DataSize.ofBytes(2L * RECORD_BYTES));
+		assertEquals(List.of(1L, 2L, 3L, 4L, 5L), sequences(journal.takeUnapplied()));
+		journal.close();
+	}
+
+	@Test
+	void checkpointDeletesSegmentsWhoseRecordsAreAllApplied() throws IOException {
+		IngestJournal journal = open(DataSize.ofBytes(2L * RECORD_BYTES));
+		for (int i = 1; i <= 5; i++) {
+			journal.append(UUID.randomUUID().toString(), request(i));
+		}
+		// Applied out of order; 4 waits for 3
+		journal.markApplied(2);
+		journal.markApplied(1);
+		journal.markApplied(4);
+		journal.checkpoint();
+		assertEquals(2, segments().size());
+
+		journal.markApplied(3);
+		journal.checkpoint();
+		assertEquals(1, segments().size());
+		assertTrue(Files.exists(directory.resolve("checkpoint")));
+		journal.close();
+
+		journal = open(DataSize.ofBytes(2L * RECORD_BYTES));
+		assertEquals(List.of(5L), sequences(journal.takeUnapplied()));
+		assertEquals(6, journal.append(UUID.randomUUID().toString(), request(6)));
+		journal.close();
+	}
+
+	private IngestJournal open(DataSize segmentSize) throws IOException {
+		return new IngestJournal(directory, segmentSize);
+	}
+
+	private Path recordSegment() throws IOException {
+		// Sorted by first sequence, so the records come before the empty active segment
+		return segments().get(0);
+	}
+
+	private List<Path> segments() throws IOException {
+		try (Stream<Path> listing = Files.list(directory)) {
+			return listing.filter(JournalSegment::isSegment).sorted().toList();
+		}
+	}
+
+	private static void corrupt(Path segment, long offset, int length) throws IOException {
+		try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+			for (int i = 0; i < length; i++) {
+				file.seek(offset + i);
+				int value = file.read();
+				file.seek(offset + i);
+				file.write(length == 1 ? value ^ 0xFF : 0);
+			}
+		}
+	}
+
+	private static List<Long> sequences(List<JournalEntry> entries) {
+		return entries.stream().map(JournalEntry::sequence).toList();
+	}
+
+	private static IncidentRequest request(int i) {
+		return new IncidentRequest("incident " + i, "database timeout on checkout", "payments");
+	}
+}
@@ -0,0 +1,75 @@
+package com.incident.triage.repository;
+
+import com.incident.triage.model.Category;
+import com.incident.triage.model.Incident;
+import com.incident.triage.model.Severity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Guards the composite indexes: each hot query must be planned against its index, not a table scan
+@SpringBootTest
+class IncidentQueryPlanTests {
+
+	@Autowired
+	private IncidentRepository incidentRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void seed() {
+		if (incidentRepository.count() >= 1000) {
+			return;
+		}
+		Severity[] severities = Severity.values();
+		Category[] categories = Category.values();
+		LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+		List<Incident> incidents = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			Incident incident = new Incident();
+			incident.setTitle("Seeded incident " + i);
+			incident.setAffectedService("service-" + (i % 20));
+			incident.setAiSeverity(severities[i % severities.length]);
+			incident.setAiCategory(categories[i % categories.length]);
+			incident.setCreatedAt(base.minusMinutes(i));
+			incidents.add(incident);
+		}
+		incidentRepository.saveAll(incidents);
+		jdbcTemplate.execute("ANALYZE");
+	}
+
+	@Test
+	void severityListUsesSeverityIndex() {
+		assertPlanUses("idx_incidents_severity_created",
+				"SELECT * FROM incidents WHERE ai_severity = " + Severity.HIGH.getCode() + " ORDER BY created_at DESC");
+	}
+
+	@Test
+	void categoryListUsesCategoryIndex() {
+		assertPlanUses("idx_incidents_category_created",
+				"SELECT * FROM incidents WHERE ai_category = " + Category.NETWORK.getCode() + " ORDER BY created_at DESC");
+	}
+
+	@Test
+	void dateRangeUsesCreatedIndex() {
+		assertPlanUses("idx_incidents_created",
+				"SELECT * FROM incidents WHERE created_at BETWEEN TIMESTAMP '2024-12-31 20:00:00'"
+						+ " AND TIMESTAMP '2024-12-31 22:00:00'");
+	}
+
+	private void assertPlanUses(String index, String sql) {
+		String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+		assertTrue(plan != null && plan.toUpperCase().contains(index.toUpperCase()),
+				() -> "Expected " + index + " in plan: " + plan);
+	}
+
+}
@@ -0,0 +1,117 @@
+package com.incident.triage.search;
+
+import com.incident.triage.cluster.SnowflakeIds;
+import com.incident.triage.event.IncidentCreatedEvent;
+import com.incident.triage.model.Incident;
+import com.incident.triage.repository.IncidentRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IncidentSearchIndexTest {
+
+	private final IncidentRepository incidentRepository = mock(IncidentRepository.class);
+	private IncidentSearchIndex index;
+
+	@BeforeEach
+	void openIndex() throws IOException {
+		when(incidentRepository.streamAfter(anyLong())).thenAnswer(invocation -> Stream.empty());
+		index = new IncidentSearchIndex(incidentRepository, mock(EntityManager.class),
+				mock(PlatformTransactionManager.class), "", Duration.ofMinutes(5));
+		index.open();
+		index.onIncidentCreated(new IncidentCreatedEvent(incident(1L, "Disk full on db-1"), false));
+		index.onIncidentCreated(new IncidentCreatedEvent(incident(2L, "Disk latency on db-2"), false));
+		index.refresh();
+	}
+
+	@AfterEach
+	void closeIndex() throws IOException {
+		index.close();
+	}
+
+	@Test
+	void regularExpressionsAreSearchedAsPlainText() throws IOException {
+		assertEquals(List.of(), search("/d.sk/"));
+		assertEquals(List.of(1L, 2L), sorted(search("/disk/")));
+	}
+
+	@Test
+	void leadingWildcardsAreSearchedAsPlainText() throws IOException {
+		assertEquals(List.of(), search("*isk"));
+		assertEquals(List.of(1L), search("*full"));
+	}
+
+	@Test
+	void queriesTooLargeToParseAreRejected() {
+		String text = "disk ".repeat(2000);
+		assertThrows(IllegalArgumentException.class, () -> search(text));
+	}
+
+	@Test
+	void reopeningReindexesRowsAboveTheCommittedHighWaterMark(@TempDir Path directory) throws IOException {
+		IncidentSearchIndex persistent = persistentIndex(directory);
+		persistent.onIncidentCreated(new IncidentCreatedEvent(incident(1L, "Disk full on db-1"), false));
+		long settledBeforeCommit = SnowflakeIds.maxIdBefore(System.currentTimeMillis() - Duration.ofMinutes(5).toMillis());
+		persistent.close();
+
+		// A row that committed after the last Lucene commit, e.g. just before a crash
+		clearInvocations(incidentRepository);
+		when(incidentRepository.streamAfter(anyLong()))
+				.thenAnswer(invocation -> Stream.of(incident(3L, "Certificate expired on api-1")));
+		IncidentSearchIndex reopened = persistentIndex(directory);
+		try {
+			ArgumentCaptor<Long> afterId = ArgumentCaptor.forClass(Long.class);
+			verify(incidentRepository).streamAfter(afterId.capture());
+			assertTrue(afterId.getValue() >= settledBeforeCommit);
+
+			reopened.refresh();
+			assertEquals(List.of(1L), reopened.search("disk", null, null, null, 0, 10).ids());
+			assertEquals(List.of(3L), reopened.search("certificate", null, null, null, 0, 10).ids());
+		} finally {
+			reopened.close();
+		}
+	}
+
+	private IncidentSearchIndex persistentIndex(Path directory) throws IOException {
+		IncidentSearchIndex persistent = new IncidentSearchIndex(incidentRepository, mock(EntityManager.class),
+				mock(PlatformTransactionManager.class), directory.toString(), Duration.ofMinutes(5));
+		persistent.open();
+		return persistent;
+	}
+
+	private List<Long> search(String text) throws IOException {
+		return index.search(text, null, null, null, 0, 10).ids();
+	}
+
+	private static List<Long> sorted(List<Long> ids) {
+		return ids.stream().sorted().toList();
+	}
+
+	private static Incident incident(Long id, String title) {
+		Incident incident = new Incident();
+		incident.setId(id);
+		incident.setTitle(title);
+		incident.setDescription("");
+		incident.setAffectedService("db");
+		return incident;
+	}
+}
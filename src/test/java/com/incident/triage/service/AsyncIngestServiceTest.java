@@ -0,0 +1,106 @@
+package com.incident.triage.service;
+
+import com.incident.triage.dto.IncidentRequest;
+import com.incident.triage.dto.IncidentResponse;
+import com.incident.triage.dto.IngestTicketResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AsyncIngestServiceTest {
+
+	private final IncidentService incidentService = mock(IncidentService.class);
+	private AsyncIngestService service;
+
+	@AfterEach
+	void stop() throws InterruptedException {
+		service.stop();
+	}
+
+	@Test
+	void refusesSubmissionsOnceTheQueueIsFull() {
+		// Workers are not started, so nothing drains the queue
+		service = service(2);
+
+		String first = service.submit(request("first")).orElseThrow();
+		assertTrue(service.submit(request("second")).isPresent());
+		assertTrue(service.submit(request("third")).isEmpty());
+
+		assertEquals(1L, service.getStatus().get("rejected"));
+		assertEquals(2L, service.getStatus().get("queue_depth"));
+		assertEquals("QUEUED", service.getTicket(first).getStatus());
+	}
+
+	@Test
+	void reportsTheIncidentIdOnceATicketIsPersisted() throws InterruptedException {
+		AtomicLong ids = new AtomicLong(100);
+		when(incidentService.createIncidents(anyList(), anyList())).thenAnswer(invocation -> {
+			List<IncidentRequest> requests = invocation.getArgument(0);
+			return requests.stream().map(request -> response(ids.incrementAndGet())).toList();
+		});
+		service = service(10);
+		service.startWorkers();
+
+		String ticket = service.submit(request("disk full")).orElseThrow();
+
+		IngestTicketResponse response = awaitDone(ticket);
+		assertEquals("PERSISTED", response.getStatus());
+		assertEquals(101L, response.getIncidentId());
+	}
+
+	@Test
+	void failsOnlyTheIncidentThatKeepsFailing() throws InterruptedException {
+		when(incidentService.createIncidents(anyList(), anyList())).thenAnswer(invocation -> {
+			List<IncidentRequest> requests = invocation.getArgument(0);
+			if (requests.stream().anyMatch(request -> request.getTitle().equals("poison"))) {
+				throw new IllegalStateException("constraint violation");
+			}
+			return requests.stream().map(request -> response(7L)).toList();
+		});
+		service = service(10);
+		String poison = service.submit(request("poison")).orElseThrow();
+		String healthy = service.submit(request("healthy")).orElseThrow();
+		service.startWorkers();
+
+		assertEquals("FAILED", awaitDone(poison).getStatus());
+		assertEquals("constraint violation", service.getTicket(poison).getError());
+		assertEquals("PERSISTED", awaitDone(healthy).getStatus());
+		assertEquals(1L, service.getStatus().get("failed"));
+	}
+
+	private AsyncIngestService service(int queueCapacity) {
+		return new AsyncIngestService(incidentService, Optional.empty(), new SimpleMeterRegistry(),
+				queueCapacity, 1, 10, 2, 1L, 100, Duration.ofDays(1), Duration.ofSeconds(5));
+	}
+
+	private IngestTicketResponse awaitDone(String ticket) throws InterruptedException {
+		long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+		IngestTicketResponse response = service.getTicket(ticket);
+		while (response.getStatus().equals("QUEUED") && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+			response = service.getTicket(ticket);
+		}
+		return response;
+	}
+
+	private static IncidentRequest request(String title) {
+		return new IncidentRequest(title, "Queued for async ingest", "async");
+	}
+
+	private static IncidentResponse response(long id) {
+		IncidentResponse response = new IncidentResponse();
+		response.setId(id);
+		return response;
+	}
+}
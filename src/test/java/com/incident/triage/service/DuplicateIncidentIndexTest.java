@@ -0,0 +1,69 @@
+package com.incident.triage.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DuplicateIncidentIndexTest {
+
+	@Test
+	void findsANearIdenticalIncidentOnTheSameServiceOnly() {
+		DuplicateIncidentIndex index = new DuplicateIncidentIndex(true, Duration.ofMinutes(15), 3, 100);
+		index.register("db", index.signature("Disk full on db-1", "Volume /data at 100%"), 7);
+
+		assertEquals(7, index.findDuplicate("db", index.signature("Disk full on db-1", "Volume /data at 100%")).getAsLong());
+		assertTrue(index.findDuplicate("api", index.signature("Disk full on db-1", "Volume /data at 100%")).isEmpty());
+		assertTrue(index.findDuplicate("db", index.signature("Login page returns 500",
+				"Authentication service throws on every request")).isEmpty());
+	}
+
+	@Test
+	void forgetsIncidentsOnceTheirWindowHasPassed() throws InterruptedException {
+		DuplicateIncidentIndex index = new DuplicateIncidentIndex(true, Duration.ofMillis(20), 3, 100);
+		long signature = index.signature("Disk full", "Volume at 100%");
+		index.register("db", signature, 7);
+
+		Thread.sleep(50);
+
+		assertTrue(index.findDuplicate("db", signature).isEmpty());
+	}
+
+	@Test
+	void aMatchKeepsTheIncidentInTheWindow() throws InterruptedException {
+		DuplicateIncidentIndex index = new DuplicateIncidentIndex(true, Duration.ofMillis(200), 3, 100);
+		long signature = index.signature("Disk full", "Volume at 100%");
+		index.register("db", signature, 7);
+
+		for (int i = 0; i < 4; i++) {
+			Thread.sleep(80);
+			assertEquals(7, index.findDuplicate("db", signature).getAsLong());
+		}
+	}
+
+	@Test
+	void findsNothingWhenDisabled() {
+		DuplicateIncidentIndex index = new DuplicateIncidentIndex(false, Duration.ofMinutes(15), 3, 100);
+		long signature = index.signature("Disk full", "Volume at 100%");
+		index.register("db", signature, 7);
+
+		assertTrue(index.findDuplicate("db", signature).isEmpty());
+	}
+
+	@Test
+	void sweepDropsServicesWithNothingLeftInTheWindow() throws InterruptedException {
+		DuplicateIncidentIndex index = new DuplicateIncidentIndex(true, Duration.ofMillis(20), 3, 100);
+		for (int i = 0; i < 50; i++) {
+			index.register("made-up-" + i, index.signature("Disk full", "Volume at 100%"), i);
+		}
+		assertEquals(50, index.trackedServices());
+
+		Thread.sleep(50);
+		index.register("live", index.signature("Disk full", "Volume at 100%"), 99);
+		index.sweep();
+
+		assertEquals(1, index.trackedServices());
+	}
+}
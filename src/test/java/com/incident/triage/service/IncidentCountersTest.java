@@ -0,0 +1,131 @@
+package com.incident.triage.service;
+
+import com.incident.triage.archive.IncidentArchive;
+import com.incident.triage.cluster.SnowflakeIds;
+import com.incident.triage.event.IncidentCreatedEvent;
+import com.incident.triage.model.Category;
+import com.incident.triage.model.Incident;
+import com.incident.triage.model.Severity;
+import com.incident.triage.model.StatisticsRollup;
+import com.incident.triage.repository.IncidentRepository;
+import com.incident.triage.repository.StatisticsRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IncidentCountersTest {
+
+	private final IncidentRepository incidentRepository = mock(IncidentRepository.class);
+	private final StatisticsRollupRepository rollupRepository = mock(StatisticsRollupRepository.class);
+	private final IncidentArchive archive = mock(IncidentArchive.class);
+
+	@BeforeEach
+	void emptyArchive() {
+		when(archive.totals()).thenReturn(new IncidentArchive.Totals(0L, Map.of(), Map.of()));
+		when(archive.months()).thenReturn(List.of());
+	}
+
+	@Test
+	void startsFromTheTableAndCountsLiveCreates() {
+		when(incidentRepository.countBySeverityAfter(0L)).thenReturn(rows(Severity.HIGH, 4L, Severity.LOW, 1L));
+		when(incidentRepository.countByCategoryAfter(0L)).thenReturn(rows(Category.NETWORK, 5L));
+		IncidentCounters counters = counters(false);
+
+		counters.onIncidentCreated(new IncidentCreatedEvent(incident(Severity.HIGH, Category.DATABASE)));
+
+		Map<String, Long> stats = counters.snapshot();
+		assertEquals(6L, stats.get("total_incidents"));
+		assertEquals(5L, stats.get("high_severity"));
+		assertEquals(1L, stats.get("low_severity"));
+		assertEquals(5L, stats.get("network_issues"));
+		assertEquals(1L, stats.get("database_issues"));
+	}
+
+	@Test
+	void restartCountsOnlyRowsAboveTheRollupWatermark() {
+		when(rollupRepository.findAll()).thenReturn(List.of(
+				new StatisticsRollup("total", 10L),
+				new StatisticsRollup("severity:HIGH", 10L),
+				new StatisticsRollup("category:NETWORK", 10L),
+				new StatisticsRollup("watermark_id", 500L)));
+		when(incidentRepository.countBySeverityAfter(500L)).thenReturn(rows(Severity.LOW, 2L));
+		when(incidentRepository.countByCategoryAfter(500L)).thenReturn(rows(Category.DATABASE, 2L));
+
+		Map<String, Long> stats = counters(true).snapshot();
+
+		assertEquals(12L, stats.get("total_incidents"));
+		assertEquals(10L, stats.get("high_severity"));
+		assertEquals(2L, stats.get("low_severity"));
+		assertEquals(10L, stats.get("network_issues"));
+		assertEquals(2L, stats.get("database_issues"));
+		verify(archive, never()).totals();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void flushAddsSettledRowsAboveTheWatermark() {
+		when(rollupRepository.findAll()).thenReturn(List.of(
+				new StatisticsRollup("total", 10L),
+				new StatisticsRollup("severity:HIGH", 10L),
+				new StatisticsRollup("category:NETWORK", 10L),
+				new StatisticsRollup("watermark_id", 500L)));
+		when(incidentRepository.countBySeverityAfter(anyLong())).thenReturn(List.of());
+		when(incidentRepository.countByCategoryAfter(anyLong())).thenReturn(List.of());
+		when(incidentRepository.countBySeverityBetween(eq(500L), anyLong())).thenReturn(rows(Severity.HIGH, 3L));
+		when(incidentRepository.countByCategoryBetween(eq(500L), anyLong())).thenReturn(rows(Category.NETWORK, 3L));
+		IncidentCounters counters = counters(true);
+		long settledAfter = SnowflakeIds.maxIdBefore(System.currentTimeMillis() - Duration.ofMinutes(5).toMillis());
+
+		counters.flushRollup();
+
+		ArgumentCaptor<Iterable<StatisticsRollup>> saved = ArgumentCaptor.forClass(Iterable.class);
+		verify(rollupRepository).saveAll(saved.capture());
+		Map<String, Long> rollup = new HashMap<>();
+		saved.getValue().forEach(row -> rollup.put(row.getCounterKey(), row.getCounterValue()));
+		assertEquals(13L, rollup.get("total"));
+		assertEquals(13L, rollup.get("severity:HIGH"));
+		assertEquals(13L, rollup.get("category:NETWORK"));
+		// Rows younger than the settle time stay above the watermark for the next flush
+		long watermark = rollup.get("watermark_id");
+		assertTrue(watermark >= settledAfter);
+		assertTrue(watermark <= SnowflakeIds.maxIdBefore(System.currentTimeMillis() - Duration.ofMinutes(5).toMillis()));
+	}
+
+	private IncidentCounters counters(boolean rollupEnabled) {
+		IncidentCounters counters = new IncidentCounters(incidentRepository, rollupRepository, archive,
+				mock(PlatformTransactionManager.class), rollupEnabled, Duration.ofMinutes(5));
+		counters.rebuild();
+		return counters;
+	}
+
+	private static List<Object[]> rows(Object... keysAndCounts) {
+		List<Object[]> rows = new ArrayList<>();
+		for (int i = 0; i < keysAndCounts.length; i += 2) {
+			rows.add(new Object[] {keysAndCounts[i], keysAndCounts[i + 1]});
+		}
+		return rows;
+	}
+
+	private static Incident incident(Severity severity, Category category) {
+		Incident incident = new Incident();
+		incident.setAiSeverity(severity);
+		incident.setAiCategory(category);
+		return incident;
+	}
+}
@@ -0,0 +1,217 @@
+package com.incident.triage.service;
+
+import com.incident.triage.config.CacheConfig;
+import com.incident.triage.dto.IncidentCursor;
+import com.incident.triage.dto.IncidentPage;
+import com.incident.triage.dto.IncidentRequest;
+import com.incident.triage.dto.IncidentResponse;
+import com.incident.triage.dto.IncidentSummaryResponse;
+import com.incident.triage.escalation.EscalationScheduler;
+import com.incident.triage.model.Category;
+import com.incident.triage.model.Incident;
+import com.incident.triage.model.Severity;
+import com.incident.triage.repository.IncidentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// Service behaviour against the in-memory database; each test works on its own affectedService
+@SpringBootTest
+class IncidentServiceTests {
+
+	@Autowired
+	private IncidentService incidentService;
+
+	@Autowired
+	private IncidentRepository incidentRepository;
+
+	@Autowired
+	private EscalationScheduler escalationScheduler;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Test
+	void repeatsOfAnOpenIncidentAreFoldedIntoIt() {
+		IncidentResponse first = incidentService.createIncident(new IncidentRequest(
+				"Disk full on db-1", "Volume /data at 100%", "fold-db"));
+		IncidentResponse repeat = incidentService.createIncident(new IncidentRequest(
+				"Disk full on db-1", "Volume /data at 100%", "fold-db"));
+
+		assertEquals(first.getId(), repeat.getId());
+		assertEquals(2, repeat.getOccurrenceCount());
+		assertEquals(2, incidentService.getIncidentById(first.getId()).orElseThrow().getOccurrenceCount());
+	}
+
+	@Test
+	void theSameIncidentOnAnotherServiceIsNotFolded() {
+		IncidentResponse first = incidentService.createIncident(new IncidentRequest(
+				"Disk full on db-1", "Volume /data at 100%", "fold-db-primary"));
+		IncidentResponse other = incidentService.createIncident(new IncidentRequest(
+				"Disk full on db-1", "Volume /data at 100%", "fold-db-replica"));
+
+		assertNotEquals(first.getId(), other.getId());
+		assertEquals(1, other.getOccurrenceCount());
+	}
+
+	@Test
+	void aBatchLargerThanTheJdbcBatchSizeIsStoredWhole() {
+		// 120 rows span several flush-and-clear rounds of 50
+		List<IncidentRequest> requests = new ArrayList<>();
+		for (int i = 0; i < 120; i++) {
+			requests.add(new IncidentRequest("Batch incident " + i, "Batched row " + i, "batch-" + i));
+		}
+
+		List<IncidentResponse> created = incidentService.createIncidents(requests);
+
+		assertEquals(120, created.stream().map(IncidentResponse::getId).distinct().count());
+		assertEquals(120, incidentRepository.findAllById(created.stream().map(IncidentResponse::getId).toList()).size());
+		for (int i = 0; i < 120; i++) {
+			assertEquals("batch-" + i, created.get(i).getAffectedService());
+		}
+	}
+
+	@Test
+	void searchPagesVisitEveryRowOnceNewestFirst() {
+		// Rows sharing a createdAt are ordered by id, so no row is skipped or repeated at a page edge
+		LocalDateTime base = LocalDateTime.of(2025, 6, 1, 12, 0);
+		List<Incident> seeded = new ArrayList<>();
+		for (int i = 0; i < 7; i++) {
+			seeded.add(incident("Paged incident " + i, "paging-desc", base.minusMinutes(i / 3)));
+		}
+		List<Long> expected = incidentRepository.saveAll(seeded).stream()
+				.sorted(Comparator.comparing(Incident::getCreatedAt).thenComparing(Incident::getId).reversed())
+				.map(Incident::getId)
+				.toList();
+
+		List<Long> visited = new ArrayList<>();
+		List<Integer> pageSizes = new ArrayList<>();
+		IncidentCursor cursor = null;
+		do {
+			IncidentPage page = incidentService.searchIncidents(null, null, "paging-desc", cursor, 3);
+			page.getItems().forEach(item -> visited.add(item.getId()));
+			pageSizes.add(page.getItems().size());
+			cursor = page.getNextCursor() == null ? null : IncidentCursor.decode(page.getNextCursor());
+		} while (cursor != null);
+
+		assertEquals(expected, visited);
+		assertEquals(List.of(3, 3, 1), pageSizes);
+	}
+
+	@Test
+	void theLastFullPageHasNoCursor() {
+		LocalDateTime base = LocalDateTime.of(2025, 6, 1, 12, 0);
+		List<Incident> seeded = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			seeded.add(incident("Exact page " + i, "paging-exact", base.minusMinutes(i)));
+		}
+		incidentRepository.saveAll(seeded);
+
+		IncidentPage page = incidentService.searchIncidents(null, null, "paging-exact", null, 3);
+
+		assertEquals(3, page.getItems().size());
+		assertNull(page.getNextCursor());
+	}
+
+	@Test
+	void cachedListsShowFoldsAndAcknowledgements() {
+		IncidentResponse created = incidentService.createIncident(new IncidentRequest(
+				"Replication lag on orders-db", "Replica is 40 minutes behind primary", "cache-orders-db"));
+		Severity severity = Severity.valueOf(created.getAiSeverity());
+		Category category = Category.valueOf(created.getAiCategory());
+		assertEquals(1, listed(severity, category, created.getId()).getOccurrenceCount());
+		assertNotNull(cacheManager.getCache(CacheConfig.INCIDENTS_BY_SEVERITY).get(severity));
+
+		incidentService.createIncident(new IncidentRequest(
+				"Replication lag on orders-db", "Replica is 40 minutes behind primary", "cache-orders-db"));
+		assertEquals(2, listed(severity, category, created.getId()).getOccurrenceCount());
+
+		incidentService.acknowledgeIncident(created.getId());
+		assertNotNull(listed(severity, category, created.getId()).getAcknowledgedAt());
+	}
+
+	@Test
+	void cachedListsShowEscalations() throws InterruptedException {
+		IncidentResponse created = incidentService.createIncident(new IncidentRequest(
+				"Checkout latency above SLO", "p99 latency at 4s on checkout", "cache-checkout"));
+		Severity severity = Severity.valueOf(created.getAiSeverity());
+		Category category = Category.valueOf(created.getAiCategory());
+		assertNull(listed(severity, category, created.getId()).getEscalatedAt());
+
+		// A deadline that has already passed fires on the next tick
+		escalationScheduler.schedule(created.getId(), severity, created.getCreatedAt().minusDays(2));
+		Thread.sleep(1100);
+		escalationScheduler.tick();
+
+		assertNotNull(listed(severity, category, created.getId()).getEscalatedAt());
+	}
+
+	@Test
+	void summariesAreFilteredNewestFirstWithTheActionDerivedFromSeverity() {
+		LocalDateTime base = LocalDateTime.of(2025, 7, 1, 12, 0);
+		Incident highDatabase = incident("Primary database down", "summary-core", base);
+		highDatabase.setAiSeverity(Severity.HIGH);
+		highDatabase.setAiCategory(Category.DATABASE);
+		Incident highNetwork = incident("Packet loss between zones", "summary-core", base.plusMinutes(1));
+		highNetwork.setAiSeverity(Severity.HIGH);
+		highNetwork.setAiCategory(Category.NETWORK);
+		Incident untriaged = incident("Something looks off", "summary-core", base.plusMinutes(2));
+		incidentRepository.saveAll(List.of(highDatabase, highNetwork, untriaged));
+
+		assertEquals(List.of(highDatabase.getId()), summaryIds(Severity.HIGH, Category.DATABASE));
+		assertEquals(List.of(highNetwork.getId(), highDatabase.getId()), summaryIds(Severity.HIGH, null));
+		assertEquals(List.of(untriaged.getId(), highNetwork.getId(), highDatabase.getId()), summaryIds(null, null));
+
+		IncidentSummaryResponse summary = summaries(Severity.HIGH, Category.DATABASE).get(0);
+		assertEquals(Severity.suggestedActionFor(Severity.HIGH), summary.getAiSuggestedAction());
+		assertEquals(Severity.suggestedActionFor(null), summaries(null, null).get(0).getAiSuggestedAction());
+		assertEquals(Severity.suggestedActionFor(Severity.HIGH),
+				listed(Severity.HIGH, Category.NETWORK, highNetwork.getId()).getAiSuggestedAction());
+	}
+
+	private List<IncidentSummaryResponse> summaries(Severity severity, Category category) {
+		return incidentService.getIncidentSummaries(severity, category).stream()
+				.filter(summary -> "summary-core".equals(summary.getAffectedService()))
+				.toList();
+	}
+
+	private List<Long> summaryIds(Severity severity, Category category) {
+		return summaries(severity, category).stream().map(IncidentSummaryResponse::getId).toList();
+	}
+
+	// The incident as served by both cached lists, which must agree
+	private IncidentResponse listed(Severity severity, Category category, Long id) {
+		IncidentResponse bySeverity = incidentService.getIncidentsBySeverity(severity).stream()
+				.filter(incident -> incident.getId().equals(id))
+				.findFirst()
+				.orElseThrow();
+		IncidentResponse byCategory = incidentService.getIncidentsByCategory(category).stream()
+				.filter(incident -> incident.getId().equals(id))
+				.findFirst()
+				.orElseThrow();
+		assertEquals(bySeverity.getOccurrenceCount(), byCategory.getOccurrenceCount());
+		assertEquals(bySeverity.getAcknowledgedAt(), byCategory.getAcknowledgedAt());
+		assertEquals(bySeverity.getEscalatedAt(), byCategory.getEscalatedAt());
+		return bySeverity;
+	}
+
+	private static Incident incident(String title, String affectedService, LocalDateTime createdAt) {
+		Incident incident = new Incident();
+		incident.setTitle(title);
+		incident.setAffectedService(affectedService);
+		incident.setCreatedAt(createdAt);
+		incident.setLastSeenAt(createdAt);
+		return incident;
+	}
+}
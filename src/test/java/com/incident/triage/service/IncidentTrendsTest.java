@@ -0,0 +1,76 @@
+package com.incident.triage.service;
+
+import com.incident.triage.archive.IncidentArchive;
+import com.incident.triage.dto.TrendBucket;
+import com.incident.triage.dto.TrendResponse;
+import com.incident.triage.event.IncidentCreatedEvent;
+import com.incident.triage.model.Category;
+import com.incident.triage.model.Incident;
+import com.incident.triage.model.Severity;
+import com.incident.triage.repository.IncidentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class IncidentTrendsTest {
+
+	private final IncidentTrends trends = new IncidentTrends(mock(IncidentRepository.class),
+			mock(IncidentArchive.class), mock(PlatformTransactionManager.class),
+			Duration.ofHours(24), Duration.ofDays(90), Duration.ofDays(400), 2);
+
+	private final LocalDateTime hour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(1);
+
+	@Test
+	void countsEachIncidentInEveryResolution() {
+		create(hour.plusMinutes(5), Severity.HIGH, Category.DATABASE, "checkout");
+		create(hour.plusMinutes(5), Severity.LOW, Category.NETWORK, "checkout");
+		create(hour.plusMinutes(7), Severity.HIGH, Category.DATABASE, "search");
+
+		TrendResponse byHour = trends.trends(IncidentTrends.Resolution.HOUR, hour, hour.plusMinutes(59));
+		assertEquals(1, byHour.getBuckets().size());
+		TrendBucket bucket = byHour.getBuckets().get(0);
+		assertEquals(hour, bucket.getStart());
+		assertEquals(3L, bucket.getTotal());
+		assertEquals(2L, bucket.getBySeverity().get("HIGH"));
+		assertEquals(0L, bucket.getBySeverity().get("MEDIUM"));
+		assertEquals(1L, bucket.getByCategory().get("NETWORK"));
+		assertEquals(2L, bucket.getByAffectedService().get("checkout"));
+
+		TrendResponse byMinute = trends.trends(IncidentTrends.Resolution.MINUTE, hour, hour.plusMinutes(10));
+		assertEquals(11, byMinute.getBuckets().size());
+		assertEquals(2L, byMinute.getBuckets().get(5).getTotal());
+		assertEquals(0L, byMinute.getBuckets().get(6).getTotal());
+		assertEquals(1L, byMinute.getBuckets().get(7).getTotal());
+	}
+
+	@Test
+	void dropsIncidentsOlderThanTheRetainedWindowAndCapsServices() {
+		create(hour.minusDays(2), Severity.HIGH, Category.DATABASE, "checkout");
+		create(hour, Severity.HIGH, Category.DATABASE, "a");
+		create(hour, Severity.HIGH, Category.DATABASE, "b");
+		create(hour, Severity.HIGH, Category.DATABASE, "c");
+
+		TrendResponse byMinute = trends.trends(IncidentTrends.Resolution.MINUTE, hour.minusDays(3), hour);
+		assertEquals(3L, byMinute.getBuckets().stream().mapToLong(TrendBucket::getTotal).sum());
+
+		TrendResponse byDay = trends.trends(IncidentTrends.Resolution.DAY, hour.minusDays(3), hour);
+		assertEquals(4L, byDay.getBuckets().stream().mapToLong(TrendBucket::getTotal).sum());
+		assertEquals(1L, byDay.getBuckets().get(byDay.getBuckets().size() - 1)
+				.getByAffectedService().get(IncidentTrends.OTHER_SERVICES));
+	}
+
+	private void create(LocalDateTime createdAt, Severity severity, Category category, String service) {
+		Incident incident = new Incident();
+		incident.setCreatedAt(createdAt);
+		incident.setAiSeverity(severity);
+		incident.setAiCategory(category);
+		incident.setAffectedService(service);
+		trends.onIncidentCreated(new IncidentCreatedEvent(incident));
+	}
+}
@@ -0,0 +1,135 @@
+package com.incident.triage.service;
+
+import com.incident.triage.dto.IncidentRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IngestAdmissionTest {
+
+	private final IncidentService incidentService = mock(IncidentService.class);
+
+	@Test
+	void summarizesAServicePastItsBurstWithoutStarvingOthers() {
+		IngestAdmission admission = new IngestAdmission(incidentService, new SimpleMeterRegistry(),
+				true, 0.001, 5, 10_000, 10_000, 1000, 1000, 1000, true);
+
+		for (int i = 0; i < 5; i++) {
+			assertEquals(IngestAdmission.Outcome.ADMITTED, admission.admit(request("flapping", i)).outcome());
+		}
+		for (int i = 5; i < 12; i++) {
+			assertEquals(IngestAdmission.Outcome.SUMMARIZED, admission.admit(request("flapping", i)).outcome());
+		}
+		assertEquals(IngestAdmission.Outcome.ADMITTED, admission.admit(request("steady", 0)).outcome());
+
+		admission.summarizeStorms();
+		ArgumentCaptor<IncidentRequest> summary = ArgumentCaptor.forClass(IncidentRequest.class);
+		verify(incidentService).createStormSummary(summary.capture(), eq(7));
+		assertEquals("flapping", summary.getValue().getAffectedService());
+		assertTrue(summary.getValue().getDescription().contains("Alert 11"));
+	}
+
+	@Test
+	void rejectsWithRetryAfterWhenStormModeIsOff() {
+		IngestAdmission admission = new IngestAdmission(incidentService, new SimpleMeterRegistry(),
+				true, 1, 1, 10_000, 10_000, 1000, 1000, 1000, false);
+
+		assertEquals(IngestAdmission.Outcome.ADMITTED, admission.admit(request("db", 0)).outcome());
+		IngestAdmission.Decision decision = admission.admit(request("db", 1));
+		assertEquals(IngestAdmission.Outcome.REJECTED, decision.outcome());
+		assertTrue(decision.retryAfterNanos() > 0L && decision.retryAfterNanos() <= 1_000_000_000L);
+	}
+
+	@Test
+	void letsOneCallerUseTheWholeGlobalBurst() {
+		IngestAdmission admission = new IngestAdmission(incidentService, new SimpleMeterRegistry(),
+				true, 10_000, 10_000, 0.001, 64, 1000, 1000, 1000, false);
+
+		for (int i = 0; i < 64; i++) {
+			assertEquals(IngestAdmission.Outcome.ADMITTED, admission.admit(request("service-" + i, i)).outcome());
+		}
+		assertEquals(IngestAdmission.Outcome.REJECTED, admission.admit(request("service-64", 64)).outcome());
+	}
+
+	@Test
+	void chargesEveryBatchElementAndRefusesTheRestOnceTheGlobalLimitIsHit() {
+		IngestAdmission admission = new IngestAdmission(incidentService, new SimpleMeterRegistry(),
+				true, 0.001, 3, 0.001, 4, 1000, 1000, 1000, true);
+
+		List<IncidentRequest> batch = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			batch.add(request("flapping", i));
+		}
+		batch.add(request("steady", 0));
+		batch.add(request("steady", 1));
+		batch.add(request("steady", 2));
+
+		List<IngestAdmission.Outcome> outcomes = admission.admitAll(batch).stream()
+				.map(IngestAdmission.Decision::outcome)
+				.toList();
+		assertEquals(List.of(
+				IngestAdmission.Outcome.ADMITTED, IngestAdmission.Outcome.ADMITTED, IngestAdmission.Outcome.ADMITTED,
+				IngestAdmission.Outcome.SUMMARIZED, IngestAdmission.Outcome.SUMMARIZED,
+				IngestAdmission.Outcome.ADMITTED, IngestAdmission.Outcome.REJECTED, IngestAdmission.Outcome.REJECTED),
+				outcomes);
+	}
+
+	@Test
+	void chargesNewServicesPastTheCreationLimitToTheOverflowBucket() {
+		IngestAdmission admission = new IngestAdmission(incidentService, new SimpleMeterRegistry(),
+				true, 0.001, 2, 10_000, 10_000, 1000, 0.001, 3, true);
+
+		// Each invented name past the third shares one bucket instead of getting a fresh burst
+		for (int i = 0; i < 3; i++) {
+			assertEquals(IngestAdmission.Outcome.ADMITTED, admission.admit(request("known-" + i, i)).outcome());
+		}
+		for (int i = 0; i < 2; i++) {
+			assertEquals(IngestAdmission.Outcome.ADMITTED, admission.admit(request("invented-" + i, i)).outcome());
+		}
+		for (int i = 2; i < 6; i++) {
+			assertEquals(IngestAdmission.Outcome.SUMMARIZED, admission.admit(request("invented-" + i, i)).outcome());
+		}
+		assertEquals(IngestAdmission.Outcome.ADMITTED, admission.admit(request("known-0", 9)).outcome());
+
+		admission.summarizeStorms();
+		ArgumentCaptor<IncidentRequest> summary = ArgumentCaptor.forClass(IncidentRequest.class);
+		verify(incidentService).createStormSummary(summary.capture(), eq(4));
+		assertEquals(IngestAdmission.OVERFLOW_SERVICE, summary.getValue().getAffectedService());
+	}
+
+	@Test
+	void keepsHeldCountsWhenASummaryFailsToPersist() {
+		IngestAdmission admission = new IngestAdmission(incidentService, new SimpleMeterRegistry(),
+				true, 0.001, 1, 10_000, 10_000, 1000, 1000, 1000, true);
+		when(incidentService.createStormSummary(any(), anyInt()))
+				.thenThrow(new IllegalStateException("database down"))
+				.thenReturn(null);
+
+		admission.admit(request("flapping", 0));
+		for (int i = 1; i <= 3; i++) {
+			admission.admit(request("flapping", i));
+		}
+		admission.summarizeStorms();
+		admission.admit(request("flapping", 4));
+		admission.summarizeStorms();
+
+		verify(incidentService).createStormSummary(any(), eq(3));
+		verify(incidentService).createStormSummary(any(), eq(4));
+	}
+
+	private static IncidentRequest request(String service, int i) {
+		return new IncidentRequest("Alert " + i, "Alert " + i + " fired", service);
+	}
+}
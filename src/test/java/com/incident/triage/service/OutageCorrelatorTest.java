@@ -0,0 +1,115 @@
+package com.incident.triage.service;
+
+import com.incident.triage.event.IncidentCreatedEvent;
+import com.incident.triage.model.Category;
+import com.incident.triage.model.Incident;
+import com.incident.triage.model.Outage;
+import com.incident.triage.model.Severity;
+import com.incident.triage.repository.IncidentRepository;
+import com.incident.triage.repository.OutageRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutageCorrelatorTest {
+
+	private final OutageRepository outageRepository = mock(OutageRepository.class);
+	private final OutageCorrelator correlator = new OutageCorrelator(outageRepository, mock(IncidentRepository.class),
+			mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), true, Duration.ofMinutes(15), 0);
+
+	@Test
+	void groupsIncidentsWithinTheWindowAndSplitsOnGaps() {
+		LocalDateTime start = LocalDateTime.now().minusHours(1);
+		Long first = correlator.assign(incident("checkout", Category.NETWORK, start));
+		Long second = correlator.assign(incident("checkout", Category.NETWORK, start.plusMinutes(10)));
+		Long third = correlator.assign(incident("checkout", Category.NETWORK, start.plusMinutes(24)));
+		Long afterGap = correlator.assign(incident("checkout", Category.NETWORK, start.plusMinutes(40)));
+
+		assertEquals(first, second);
+		assertEquals(first, third);
+		assertNotEquals(first, afterGap);
+		assertNotEquals(first, correlator.assign(incident("checkout", Category.DATABASE, start.plusMinutes(1))));
+		assertNotEquals(first, correlator.assign(incident("search", Category.NETWORK, start.plusMinutes(1))));
+	}
+
+	@Test
+	void foldedRepeatsKeepTheWindowOpen() {
+		LocalDateTime start = LocalDateTime.now().minusHours(1);
+		Incident first = incident("checkout", Category.NETWORK, start);
+		first.setOutageId(correlator.assign(first));
+		// Every later alert in the storm is folded into the first incident
+		for (int minute = 10; minute <= 40; minute += 10) {
+			correlator.extend(first, start.plusMinutes(minute));
+		}
+
+		assertEquals(first.getOutageId(), correlator.assign(incident("checkout", Category.NETWORK, start.plusMinutes(50))));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void flushesCommittedMembersWithTheMostSevereSeverity() {
+		LocalDateTime start = LocalDateTime.now();
+		Incident low = incident("checkout", Category.NETWORK, start);
+		low.setAiSeverity(Severity.LOW);
+		low.setOutageId(correlator.assign(low));
+		Incident high = incident("checkout", Category.NETWORK, start.plusMinutes(1));
+		high.setAiSeverity(Severity.HIGH);
+		high.setOutageId(correlator.assign(high));
+		// Assigned but never committed
+		correlator.assign(incident("checkout", Category.NETWORK, start.plusMinutes(2)));
+
+		correlator.onIncidentCreated(new IncidentCreatedEvent(low));
+		correlator.onIncidentCreated(new IncidentCreatedEvent(high));
+		correlator.flush();
+
+		ArgumentCaptor<List<Outage>> saved = ArgumentCaptor.forClass(List.class);
+		verify(outageRepository).saveAll(saved.capture());
+		Outage outage = saved.getValue().get(0);
+		assertEquals(low.getOutageId(), outage.getId());
+		assertEquals(2, outage.getMemberCount());
+		assertEquals(Severity.HIGH, outage.getSeverity());
+		assertEquals(start, outage.getStartedAt());
+		assertEquals(start.plusMinutes(1), outage.getLastIncidentAt());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void keepsAnExpiredOutageUntilItsRowIsWritten() {
+		Incident incident = incident("checkout", Category.NETWORK, LocalDateTime.now().minusHours(1));
+		incident.setOutageId(correlator.assign(incident));
+		correlator.onIncidentCreated(new IncidentCreatedEvent(incident));
+
+		when(outageRepository.saveAll(anyList())).thenThrow(new IllegalStateException("database down"))
+				.thenReturn(List.of());
+		correlator.flush();
+		correlator.flush();
+		correlator.flush();
+
+		ArgumentCaptor<List<Outage>> saved = ArgumentCaptor.forClass(List.class);
+		verify(outageRepository, times(2)).saveAll(saved.capture());
+		assertEquals(incident.getOutageId(), saved.getValue().get(0).getId());
+		assertEquals(1, saved.getValue().get(0).getMemberCount());
+	}
+
+	private static Incident incident(String service, Category category, LocalDateTime createdAt) {
+		Incident incident = new Incident();
+		incident.setTitle(service + " alert");
+		incident.setAffectedService(service);
+		incident.setAiCategory(category);
+		incident.setCreatedAt(createdAt);
+		return incident;
+	}
+}